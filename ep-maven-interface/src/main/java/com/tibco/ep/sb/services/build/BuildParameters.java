@@ -32,9 +32,12 @@ package com.tibco.ep.sb.services.build;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * The build parameters
@@ -48,11 +51,16 @@ public class BuildParameters {
     private final List<Path> sourcePaths = new ArrayList<>();
     private final List<Path> testSourcePaths = new ArrayList<>();
     private final Map<String, String> compilerProperties = new HashMap<>();
+    private final Set<Path> changedModules = new LinkedHashSet<>();
+    private final Set<Path> removedModules = new LinkedHashSet<>();
+    private boolean fullBuild = true;
+    private int parallelism = 1;
     private Path projectRootDirectory = null;
     private Path buildDirectory = null;
     private Path configurationDirectory = null;
     private Path testConfigurationDirectory = null;
     private Path productHome = null;
+    private Path engineDataArea = null;
 
     /**
      * Construct a new set of parameters
@@ -256,6 +264,93 @@ public class BuildParameters {
         return productHome;
     }
 
+    /**
+     * @param engineDataArea The directory the build copies engine resources into
+     * @return This
+     */
+    public BuildParameters withEngineDataArea(Path engineDataArea) {
+        this.engineDataArea = engineDataArea;
+        return this;
+    }
+
+    /**
+     * @return The directory the build copies engine resources into, null if
+     * the build service should use the engine data area system property
+     */
+    public Path getEngineDataArea() {
+        return engineDataArea;
+    }
+
+    /**
+     * @param fullBuild False if only the changed modules, and the modules depending on
+     *                  changed or removed modules, need to be generated
+     * @return This
+     */
+    public BuildParameters withFullBuild(boolean fullBuild) {
+        this.fullBuild = fullBuild;
+        return this;
+    }
+
+    /**
+     * @return True (the default) if all the modules must be checked, false if only
+     * the changed modules, and the modules depending on changed or removed modules,
+     * need to be generated
+     */
+    public boolean isFullBuild() {
+        return fullBuild;
+    }
+
+    /**
+     * @param parallelism The maximum number of modules/interfaces built concurrently
+     * @return This
+     */
+    public BuildParameters withParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        return this;
+    }
+
+    /**
+     * @return The maximum number of modules/interfaces built concurrently, 1 (the default)
+     * for a sequential build
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param paths The module files added or changed since the previous build
+     * @return This
+     */
+    public BuildParameters withChangedModules(Collection<Path> paths) {
+        this.changedModules.addAll(paths);
+        return this;
+    }
+
+    /**
+     * @return The module files added or changed since the previous build,
+     * only meaningful if this is not a full build
+     */
+    public Set<Path> getChangedModules() {
+        return changedModules;
+    }
+
+    /**
+     * @param paths The module files removed since the previous build
+     * @return This
+     */
+    public BuildParameters withRemovedModules(Collection<Path> paths) {
+        this.removedModules.addAll(paths);
+        return this;
+    }
+
+    /**
+     * @return The module files removed since the previous build, only
+     * meaningful if this is not a full build
+     */
+    public Set<Path> getRemovedModules() {
+        return removedModules;
+    }
+
     @Override
     public String toString() {
         return "BuildParameters{" +
@@ -265,6 +360,11 @@ public class BuildParameters {
             ", buildDirectory=" + buildDirectory +
             ", configurationDirectory=" + configurationDirectory +
             ", testConfigurationDirectory=" + testConfigurationDirectory +
+            ", engineDataArea=" + engineDataArea +
+            ", fullBuild=" + fullBuild +
+            ", parallelism=" + parallelism +
+            ", changedModules=" + changedModules +
+            ", removedModules=" + removedModules +
             '}';
     }
 }
@@ -31,6 +31,9 @@
 package com.tibco.ep.sb.services.build;
 
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -42,6 +45,7 @@ public class BuildResult {
     private Path entityPath;
     private Optional<Exception> exception = Optional.empty();
     private long elapsedTimeMillis = 0;
+    private final Map<BuildPhase, Long> phaseTimesMillis = new EnumMap<>(BuildPhase.class);
 
     /**
      * @return The entity name
@@ -106,4 +110,22 @@ public class BuildResult {
         this.elapsedTimeMillis = elapsedTimeMillis;
         return this;
     }
+
+    /**
+     * @return The time spent in each phase in milliseconds, only for the
+     * phases reported by the build service
+     */
+    public Map<BuildPhase, Long> getPhaseTimesMillis() {
+        return Collections.unmodifiableMap(phaseTimesMillis);
+    }
+
+    /**
+     * @param phase      The phase
+     * @param timeMillis The time spent in the phase in milliseconds
+     * @return This
+     */
+    public BuildResult withPhaseTimeMillis(BuildPhase phase, long timeMillis) {
+        this.phaseTimesMillis.put(phase, timeMillis);
+        return this;
+    }
 }
\ No newline at end of file
@@ -32,6 +32,9 @@ package com.tibco.ep.sb.services.build;
 
 /**
  * Interface that is called back when a module/interface is built
+ * <p>
+ * When the build parameters allow a parallelism above 1, the callbacks can
+ * be made concurrently from several threads.
  */
 public interface IBuildNotifier {
 
@@ -87,4 +90,14 @@ public interface IBuildNotifier {
      * @param result The build result
      */
     void onCompleted(BuildResult result);
+
+    /**
+     * Checked before starting a module/interface build: once true, the
+     * build should stop starting new builds and return
+     *
+     * @return True if the build is cancelled
+     */
+    default boolean isCancelled() {
+        return false;
+    }
 }
@@ -47,6 +47,20 @@ public interface IRuntimeBuildService {
      */
     void build(String name, BuildTarget buildTarget, BuildParameters parameters, IBuildNotifier notifier);
 
+    /**
+     * Tell whether builds can run concurrently on this service
+     * <p>
+     * A concurrent service takes the engine data area from
+     * {@link BuildParameters#getEngineDataArea()} and keeps no other per-build
+     * state outside of the build parameters and notifier. Other services are
+     * given one build at a time, with the engine data area in a system property.
+     *
+     * @return True if builds can run concurrently, false by default
+     */
+    default boolean isConcurrent() {
+        return false;
+    }
+
     /**
      * Get details on an exception
      *
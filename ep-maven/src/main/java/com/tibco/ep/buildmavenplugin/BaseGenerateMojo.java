@@ -35,36 +35,59 @@ import com.tibco.ep.sb.services.build.BuildParameters;
 import com.tibco.ep.sb.services.build.BuildResult;
 import com.tibco.ep.sb.services.build.BuildTarget;
 import com.tibco.ep.sb.services.build.IBuildNotifier;
+import com.tibco.ep.sb.services.build.IRuntimeBuildService;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
 /**
  * Base class for code generation MOJO
  */
 public abstract class BaseGenerateMojo extends BaseMojo {
 
     private static final String COMPILER_PROPERTIES_EQUALS = "=";
-    private static final String ENGINE_DATA_AREA = "com.tibco.ep.dtm.engine.data.area";
+    static final String ENGINE_DATA_AREA = "com.tibco.ep.dtm.engine.data.area";
+
+    //  Serializes the builds on services reading the engine data area from
+    //  the (JVM wide) system property.
+    //
+    private static final Object ENGINE_DATA_AREA_LOCK = new Object();
 
-    private final BuildTarget target;
-    private final List<String> failedBuilds = new ArrayList<>();
+    //  The target being generated: set once for the generation goals, main
+    //  then test on each round of the watch goal.
+    //
+    private BuildTarget target;
+    private final List<String> failedBuilds = Collections.synchronizedList(new ArrayList<>());
 
     //  Maven parameters
     //
@@ -161,6 +184,112 @@ public abstract class BaseGenerateMojo extends BaseMojo {
     @Parameter(required = false, property = "skipGenerateSources", defaultValue = "false")
     Boolean skipGenerateSources;
 
+    /**
+     * <p>Set this to 'false' to always generate all the EventFlow modules.</p>
+     *
+     * <p>By default the inputs of the previous generation are saved in
+     * target/ep-generate-main.properties (or ep-generate-test.properties),
+     * the generation is skipped if nothing changed, and only the modules
+     * added, changed or removed are passed to the build service when nothing
+     * else changed.</p>
+     *
+     * <p>Any change to the java sources of the project, or to the class path
+     * other than the project output, needs a generation of all the modules,
+     * since java operators, functions and data types may be used by any of
+     * them.</p>
+     *
+     * <p>Example use on commandline:</p>
+     * <pre>
+     *     mvn install -DincrementalGeneration=false
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "incrementalGeneration", defaultValue = "true")
+    boolean incrementalGeneration;
+
+    /**
+     * <p>Maximum number of EventFlow modules generated concurrently, for
+     * build services supporting it.</p>
+     *
+     * <p>The default value of 1 generates modules one at a time, 0 uses the
+     * number of available processors.</p>
+     *
+     * <p>Example use on commandline:</p>
+     * <pre>
+     *     mvn install -DgenerateThreads=0
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "generateThreads", defaultValue = "1")
+    int generateThreads;
+
+    /**
+     * <p>Set this to 'true' to report compilation errors of the generated
+     * java sources early, while the EventFlow modules are being generated.</p>
+     *
+     * <p>This is an early error report mode only, it does not make the build
+     * faster: the compiler plugin still compiles all the sources and remains
+     * the reference for compilation errors, and this compilation uses more
+     * processor time.</p>
+     *
+     * <p>The sources of each module are compiled in the background as soon
+     * as the module is generated, and the remaining sources once the
+     * generation is done, while the build goes on: the errors are logged when
+     * this last compilation completes. The options of the compiler plugin are
+     * used, and the classes are written to a scratch directory,
+     * target/ep-compile-main or target/ep-compile-test.</p>
+     *
+     * <p>Example use on commandline:</p>
+     * <pre>
+     *     mvn install -DcompileGeneratedSources=true
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "compileGeneratedSources", defaultValue = "false")
+    boolean compileGeneratedSources;
+
+    /**
+     * <p>Number of slowest EventFlow modules listed in the code generation
+     * summary.</p>
+     *
+     * <p>The timings of all the modules are written to
+     * target/ep-generate-main-timings.json and .csv (ep-generate-test-timings
+     * for test EventFlows), with the time spent in each phase when reported
+     * by the build service.</p>
+     *
+     * <p>Example use on commandline:</p>
+     * <pre>
+     *     mvn install -DslowestModules=20
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "slowestModules", defaultValue = "5")
+    int slowestModules;
+
+    /**
+     * <p>Directory of a cache of generated EventFlow sources, shared between
+     * checkouts and possibly machines.</p>
+     *
+     * <p>When set, the generated sources and module list are restored from
+     * the cache if a previous generation had the same EventFlow sources,
+     * configurations, compiler properties, product version and class path
+     * content, and the build service is not called. Successful generations
+     * are added to the cache.</p>
+     *
+     * <p>Example use on commandline:</p>
+     * <pre>
+     *     mvn install -DgenerationCacheDirectory=/shared/ep-generation-cache
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "generationCacheDirectory")
+    File generationCacheDirectory;
+
     /**
      * <p>Additional resources directory for HOCON configurations</p>
      *
@@ -228,10 +357,22 @@ public abstract class BaseGenerateMojo extends BaseMojo {
 
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
+        if (initializeGeneration()) {
+            generate(target);
+        }
+    }
+
+    /**
+     * Check the parameters and initialize the build service
+     *
+     * @return False if code generation is skipped
+     * @throws MojoExecutionException Invalid parameters, or no build service
+     */
+    boolean initializeGeneration() throws MojoExecutionException {
 
         if (skipGenerateSources) {
             getLog().warn("Skipping code generation entirely");
-            return;
+            return false;
         }
 
         //  Transform the compiler properties into a map.
@@ -249,8 +390,21 @@ public abstract class BaseGenerateMojo extends BaseMojo {
 
         prechecks();
         initializeService(PlatformService.CODE_GENERATION, ErrorHandling.FAIL);
+        return true;
+    }
+
+    /**
+     * Generate the sources of a target, the build service being initialized
+     *
+     * @param target The target
+     * @return False if the generated sources were up to date
+     * @throws MojoExecutionException Code generation failed
+     */
+    boolean generate(BuildTarget target) throws MojoExecutionException {
+        this.target = target;
+        failedBuilds.clear();
 
-        setupEngineDataArea();
+        Path engineDataArea = setupEngineDataArea();
 
         //  Construct the build parameters and trigger the build.
         //
@@ -280,7 +434,10 @@ public abstract class BaseGenerateMojo extends BaseMojo {
                 .withConfigurationDirectory(configurationDirectory.toPath())
                 .withTestConfigurationDirectory(testConfigurationDirectory.toPath())
                 .withBuildDirectory(toPath(project.getBuild().getDirectory()))
-                .withProductHome(productHome.toPath());
+                .withProductHome(productHome.toPath())
+                .withEngineDataArea(engineDataArea)
+                .withParallelism(generateThreads > 0
+                    ? generateThreads : Runtime.getRuntime().availableProcessors());
 
         } catch (DependencyResolutionRequiredException e) {
             throw new MojoExecutionException("Cannot resolve dependency", e);
@@ -291,13 +448,71 @@ public abstract class BaseGenerateMojo extends BaseMojo {
         logPaths("Project Test Compile ClassPath", buildParameters.getProjectTestCompileClassPath());
         logPaths("Dependencies Test Compile ClassPath", buildParameters.getDependenciesTestCompileClassPath());
 
+        //  Compare with the previous generation.
+        //
+        GenerationState state = new GenerationState(new File(project.getBuild().getDirectory(),
+            "ep-generate-" + target.toString().toLowerCase() + ".properties"));
+        GenerationState.Changes changes = null;
+        GenerationCache cache = generationCacheDirectory == null ? null : new GenerationCache(generationCacheDirectory);
+        String cacheKey = null;
+        try {
+            if (incrementalGeneration || cache != null) {
+                changes = state.update(getInputsHash(buildParameters), getStateRoots(buildParameters));
+            }
+            if (!incrementalGeneration) {
+                state.delete();
+            }
+            if (cache != null) {
+                cacheKey = getCacheKey(buildParameters, state);
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to check the EventFlow sources: " + e.getMessage(), e);
+        }
+
+        if (incrementalGeneration && changes.isEmpty() && getGeneratedSourceDirectory().isDirectory()
+            && (target != BuildTarget.MAIN || ProjectModuleData.exists(project))) {
+            getLog().info("EventFlow code generation is up to date");
+            try {
+                state.save();
+            } catch (IOException e) {
+                getLog().debug("Unable to save the generation state: " + e.getMessage());
+            }
+            addGeneratedSourceRoot();
+            return false;
+        }
+
+        //  Then look for the same inputs in the generation cache.
+        //
+        if (cacheKey != null && restore(cache, cacheKey)) {
+            if (incrementalGeneration) {
+                try {
+                    state.save();
+                } catch (IOException e) {
+                    getLog().debug("Unable to save the generation state: " + e.getMessage());
+                }
+            }
+            addGeneratedSourceRoot();
+            return true;
+        }
+
+        if (incrementalGeneration && !changes.isFull()) {
+            getLog().info(changes.getChanged().size() + " EventFlow module"
+                + (changes.getChanged().size() == 1 ? "" : "s") + " changed, "
+                + changes.getRemoved().size() + " removed since the previous generation");
+            buildParameters
+                .withFullBuild(false)
+                .withChangedModules(changes.getChanged())
+                .withRemovedModules(changes.getRemoved());
+        }
+
         //  Now trigger the build and report errors.
         //
-        BuildNotifier notifier = new BuildNotifier();
+        GeneratedSourceCompiler compiler = createCompiler(buildParameters);
+        BuildNotifier notifier = new BuildNotifier(buildParameters.getParallelism(), compiler);
+        long start = System.nanoTime();
         try {
 
-            getBuildService()
-                .build(project.getName(), target, buildParameters, notifier);
+            build(getBuildService(), buildParameters, notifier);
 
         } catch (FailFastException ffe) {
 
@@ -306,23 +521,73 @@ public abstract class BaseGenerateMojo extends BaseMojo {
             assert !failedBuilds.isEmpty();
         }
 
-        if (!failedBuilds.isEmpty()) {
-            throw new MojoExecutionException(
-                "Code generation failed:\n(See above for stacks)\n"
-                    + String.join("\n", failedBuilds));
+        notifier.report.setWallTimeMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        writeReport(notifier.report);
+
+        if (compiler != null) {
+            finishCompilation(compiler, start);
         }
 
         //  Now update the list of generated modules.
         //  This list will be used to construct the manifest (so, we only do that for MAIN).
+        //  On an incremental generation, the modules of the previous generation are kept.
         //
         if (target == BuildTarget.MAIN) {
+            if (!buildParameters.isFullBuild() && ProjectModuleData.exists(project)) {
+                notifier.moduleData.addModules(ProjectModuleData.read(project),
+                    getModuleNames(buildParameters.getRemovedModules(), buildParameters));
+            }
             notifier.moduleData.write(project);
         }
 
+        if (!failedBuilds.isEmpty()) {
+
+            //  Keep the modules generated, the next generation retries the others.
+            //
+            try {
+                if (incrementalGeneration) {
+                    Set<Path> pending = new HashSet<>(changes.getRemoved());
+                    for (Path module : changes.getChanged()) {
+                        if (!notifier.generated.containsAll(getModuleNames(Collections.singleton(module),
+                            buildParameters))) {
+                            pending.add(module);
+                        }
+                    }
+                    state.markChanged(pending);
+                    state.save();
+                } else {
+                    state.delete();
+                }
+            } catch (IOException e) {
+                getLog().debug("Unable to save the generation state: " + e.getMessage(), e);
+            }
+            throw new MojoExecutionException(
+                "Code generation failed:\n(See above for stacks)\n"
+                    + failedBuilds.stream().sorted().collect(Collectors.joining("\n")));
+        }
+
+        if (incrementalGeneration) {
+            try {
+                state.save();
+            } catch (IOException e) {
+                getLog().warn("Unable to save the generation state: " + e.getMessage());
+            }
+        }
+
+        if (cacheKey != null) {
+            try {
+                cache.store(cacheKey, getGeneratedSourceDirectory().toPath(),
+                    target == BuildTarget.MAIN ? ProjectModuleData.file(project).toPath() : null);
+            } catch (IOException e) {
+                getLog().warn("Unable to store the generated sources in " + generationCacheDirectory
+                    + ": " + e.getMessage());
+            }
+        }
+
         //  Add the generated source directory
         //
         addGeneratedSourceRoot();
-
+        return true;
     }
 
     private void logPaths(String header, List<Path> paths) {
@@ -339,13 +604,11 @@ public abstract class BaseGenerateMojo extends BaseMojo {
             .forEach(p -> getLog().debug("  " + p));
     }
 
-    private void setupEngineDataArea() throws MojoExecutionException {
+    private Path setupEngineDataArea() throws MojoExecutionException {
 
         //  This is used by ResourcePathResolvers to copy data into.
         //
-        Path tempDirectory = Paths.get(project.getBuild().getDirectory()).resolve("tmp");
-        String tempDirectoryString = tempDirectory.toAbsolutePath().toFile().toString();
-        System.setProperty(ENGINE_DATA_AREA, tempDirectoryString);
+        Path tempDirectory = Paths.get(project.getBuild().getDirectory()).resolve("tmp").toAbsolutePath();
 
         //  Create the directory.
         //
@@ -353,7 +616,25 @@ public abstract class BaseGenerateMojo extends BaseMojo {
         if (!tempDirectory.toFile().exists()) {
             throw new MojoExecutionException("Could not create: " + tempDirectory);
         }
-        getLog().debug(ENGINE_DATA_AREA + " set to " + tempDirectoryString);
+        getLog().debug(ENGINE_DATA_AREA + " set to " + tempDirectory);
+        return tempDirectory;
+    }
+
+    private void build(IRuntimeBuildService service, BuildParameters buildParameters, BuildNotifier notifier) {
+
+        //  Concurrent services take the engine data area from the build
+        //  parameters, the others get it from the system property and so
+        //  build one project at a time.
+        //
+        if (service.isConcurrent()) {
+            service.build(project.getName(), target, buildParameters, notifier);
+            return;
+        }
+
+        synchronized (ENGINE_DATA_AREA_LOCK) {
+            System.setProperty(ENGINE_DATA_AREA, buildParameters.getEngineDataArea().toString());
+            service.build(project.getName(), target, buildParameters, notifier);
+        }
     }
 
     private List<Path> getDependencyClassPaths(BuildTarget target) throws MojoExecutionException {
@@ -384,14 +665,301 @@ public abstract class BaseGenerateMojo extends BaseMojo {
         return new ArrayList<>(classpath);
     }
 
-    private void addGeneratedSourceRoot() {
+    private String getInputsHash(BuildParameters parameters) throws IOException {
+        Path output = Paths.get(target == BuildTarget.MAIN
+            ? project.getBuild().getOutputDirectory() : project.getBuild().getTestOutputDirectory()).toAbsolutePath();
+        return getInputsHash(Stream.of(getProductVersion(), productHome, target), parameters, output,
+            getJavaSourceRoots());
+    }
+
+    //  The java sources of the project compiled to the output of the target,
+    //  the sources generated under the build directory excepted.
+    //
+    private List<Path> getJavaSourceRoots() {
+        Path buildDirectory = Paths.get(project.getBuild().getDirectory()).toAbsolutePath();
+        return (target == BuildTarget.MAIN
+            ? project.getCompileSourceRoots() : project.getTestCompileSourceRoots()).stream()
+            .map(root -> Paths.get(root).toAbsolutePath())
+            .filter(root -> !root.startsWith(buildDirectory) && Files.isDirectory(root))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Compute the hash of the generation inputs other than the EventFlow and
+     * configuration files, which the generation state compares one by one
+     *
+     * @param settings    The product and target settings
+     * @param parameters  The build parameters
+     * @param output      The project output for the target
+     * @param javaSources The java source directories of the project output
+     * @return The hash
+     * @throws IOException Unable to scan a directory
+     */
+    static String getInputsHash(Stream<?> settings, BuildParameters parameters, Path output,
+        List<Path> javaSources) throws IOException {
+
+        //  Class path directories, such as the outputs of reactor siblings, are
+        //  described by their files. The project output for this target is left
+        //  out, it is written by the compilation following the generation: the
+        //  java sources it is compiled from are described instead.
+        //
+        Predicate<Path> input = element -> !element.toAbsolutePath().equals(output);
+
+        return GenerationState.hash(Stream.of(
+            settings,
+            new TreeMap<>(parameters.getCompilerProperties()).entrySet().stream(),
+            Stream.of("project"), parameters.getProjectCompileClassPath().stream().filter(input),
+            Stream.of("dependencies"), parameters.getDependenciesCompileClassPath().stream().filter(input),
+            Stream.of("project-test"), parameters.getProjectTestCompileClassPath().stream().filter(input),
+            Stream.of("dependencies-test"), parameters.getDependenciesTestCompileClassPath().stream().filter(input),
+            Stream.of("java-sources"), javaSources.stream())
+            .flatMap(values -> values));
+    }
+
+    private GeneratedSourceCompiler createCompiler(BuildParameters parameters) {
+        if (!compileGeneratedSources) {
+            return null;
+        }
+
+        JavaCompiler javaCompiler = ToolProvider.getSystemJavaCompiler();
+        if (javaCompiler == null) {
+            getLog().warn("No java compiler in " + System.getProperty("java.home")
+                + ", generated sources are compiled by the compiler plugin only");
+            return null;
+        }
+
+        //  Same class path as the generation, and the project sources for
+        //  the generated code referencing them.
+        //
+        Set<Path> classPath = new LinkedHashSet<>(parameters.getProjectCompileClassPath());
+        classPath.addAll(parameters.getDependenciesCompileClassPath());
+        if (target == BuildTarget.TEST) {
+            classPath.addAll(parameters.getProjectTestCompileClassPath());
+            classPath.addAll(parameters.getDependenciesTestCompileClassPath());
+        }
+        Path generated = getGeneratedSourceDirectory().toPath().toAbsolutePath();
+        List<Path> sourcePath = (target == BuildTarget.MAIN
+            ? project.getCompileSourceRoots() : project.getTestCompileSourceRoots()).stream()
+            .map(root -> Paths.get(root).toAbsolutePath())
+            .filter(root -> !root.equals(generated) && Files.isDirectory(root))
+            .collect(Collectors.toList());
+
+        //  Classes go to a scratch directory: they are only compiled to report
+        //  errors early, the compiler plugin remains the reference.
+        //
+        Path output = Paths.get(project.getBuild().getDirectory(),
+            "ep-compile-" + target.toString().toLowerCase());
+        try {
+            return new GeneratedSourceCompiler(javaCompiler, generated, output, new ArrayList<>(classPath),
+                sourcePath, getCompilerOptions(), getLog());
+        } catch (IOException e) {
+            getLog().warn("Unable to compile the generated sources during generation: " + e.getMessage());
+            return null;
+        }
+    }
+
+    //  Options of the compiler plugin execution for this target, or the
+    //  properties it reads by default.
+    //
+    private List<String> getCompilerOptions() {
+        List<Xpp3Dom> configurations = new ArrayList<>();
+        Plugin plugin = project.getPlugin("org.apache.maven.plugins:maven-compiler-plugin");
+        if (plugin != null) {
+            PluginExecution execution = plugin.getExecutionsAsMap()
+                .get(target == BuildTarget.MAIN ? "default-compile" : "default-testCompile");
+            if (execution != null && execution.getConfiguration() instanceof Xpp3Dom) {
+                configurations.add((Xpp3Dom) execution.getConfiguration());
+            }
+            if (plugin.getConfiguration() instanceof Xpp3Dom) {
+                configurations.add((Xpp3Dom) plugin.getConfiguration());
+            }
+        }
+
+        List<String> options = new ArrayList<>();
+        String release = getCompilerValue(configurations, "release", "maven.compiler.release");
+        if (target == BuildTarget.TEST) {
+            String testRelease = getCompilerValue(configurations, "testRelease", "maven.compiler.testRelease");
+            release = testRelease != null ? testRelease : release;
+        }
+        if (release != null) {
+            options.addAll(Arrays.asList("--release", release));
+        } else {
+            String source = getCompilerValue(configurations, "source", "maven.compiler.source");
+            if (source != null) {
+                options.addAll(Arrays.asList("-source", source));
+            }
+            String targetVersion = getCompilerValue(configurations, "target", "maven.compiler.target");
+            if (targetVersion != null) {
+                options.addAll(Arrays.asList("-target", targetVersion));
+            }
+        }
+        String encoding = getCompilerValue(configurations, "encoding", "project.build.sourceEncoding");
+        options.addAll(Arrays.asList("-encoding", encoding != null ? encoding : StandardCharsets.UTF_8.name()));
+        String proc = getCompilerValue(configurations, "proc", "maven.compiler.proc");
+        if (proc != null) {
+            options.add("-proc:" + proc);
+        }
+        if (Boolean.parseBoolean(getCompilerValue(configurations, "parameters", "maven.compiler.parameters"))) {
+            options.add("-parameters");
+        }
+        for (Xpp3Dom configuration : configurations) {
+            Xpp3Dom compilerArgs = configuration.getChild("compilerArgs");
+            if (compilerArgs != null) {
+                for (Xpp3Dom arg : compilerArgs.getChildren()) {
+                    if (arg.getValue() != null) {
+                        options.add(arg.getValue().trim());
+                    }
+                }
+                break;
+            }
+        }
+        return options;
+    }
+
+    private String getCompilerValue(List<Xpp3Dom> configurations, String name, String property) {
+        for (Xpp3Dom configuration : configurations) {
+            Xpp3Dom child = configuration.getChild(name);
+            if (child != null && child.getValue() != null && !child.getValue().trim().isEmpty()) {
+                return child.getValue().trim();
+            }
+        }
+        return project.getProperties().getProperty(property);
+    }
+
+    private void finishCompilation(GeneratedSourceCompiler compiler, long start) {
+
+        //  The final pass runs while the build goes on: its errors are only
+        //  reported early, the compiler plugin remains the reference.
+        //
+        if (failedBuilds.isEmpty()) {
+            compiler.finish().thenAccept(compiledAll -> {
+                if (compiledAll) {
+                    getLog().info("Compiled " + compiler.getCompiledCount() + " generated source"
+                        + (compiler.getCompiledCount() == 1 ? "" : "s") + " in "
+                        + String.format("%.3f", (System.nanoTime() - start) / 1e9)
+                        + " seconds from the start of generation");
+                } else {
+                    getLog().warn("Generated sources of " + project.getName() + " did not compile:");
+                    compiler.getErrors().forEach(error -> getLog().warn("  " + error));
+                }
+            });
+        }
+        compiler.close();
+    }
+
+    private void writeReport(GenerationReport report) {
+        String prefix = "ep-generate-" + target.toString().toLowerCase() + "-timings";
+        File json = new File(project.getBuild().getDirectory(), prefix + ".json");
+        File csv = new File(project.getBuild().getDirectory(), prefix + ".csv");
+
+        report.getSummary(slowestModules).forEach(line -> getLog().info(line));
+        try {
+            report.write(json, csv, slowestModules);
+            getLog().debug("Code generation timings written to " + json + " and " + csv);
+        } catch (IOException e) {
+            getLog().warn("Unable to write the code generation timings: " + e.getMessage());
+        }
+    }
+
+    private String getCacheKey(BuildParameters parameters, GenerationState state) throws IOException {
+
+        //  Only the content of the inputs is used, the project outputs for
+        //  this target being replaced by their java sources, so that other
+        //  checkouts share the entries.
+        //
+        Path localRepositoryDirectory = new File(localRepository.getBasedir()).toPath();
+        Path output = Paths.get(target == BuildTarget.MAIN
+            ? project.getBuild().getOutputDirectory() : project.getBuild().getTestOutputDirectory()).toAbsolutePath();
+
+        List<String> values = new ArrayList<>();
+        values.add(getProductVersion());
+        values.add(target.toString());
+        new TreeMap<>(parameters.getCompilerProperties()).forEach((key, value) -> values.add(key + "=" + value));
+        values.add("sources:" + state.getSourcesHash(getStateRoots(parameters)));
+        for (List<Path> classPath : Arrays.asList(
+            parameters.getProjectCompileClassPath(), parameters.getDependenciesCompileClassPath(),
+            parameters.getProjectTestCompileClassPath(), parameters.getDependenciesTestCompileClassPath())) {
+            values.add("class-path");
+            for (Path element : classPath) {
+                if (!element.toAbsolutePath().equals(output)) {
+                    values.add(GenerationCache.describe(element, localRepositoryDirectory));
+                }
+            }
+        }
+        values.add("java-sources");
+        for (Path root : getJavaSourceRoots()) {
+            values.add(GenerationCache.describe(root, localRepositoryDirectory));
+        }
+        return GenerationState.hash(values.stream());
+    }
+
+    private boolean restore(GenerationCache cache, String cacheKey) {
+        try {
+            if (cache.restore(cacheKey, getGeneratedSourceDirectory().toPath(),
+                target == BuildTarget.MAIN ? ProjectModuleData.file(project).toPath() : null)) {
+                getLog().info("EventFlow generated sources restored from " + generationCacheDirectory);
+                return true;
+            }
+            getLog().debug("No generated sources in " + generationCacheDirectory + " for " + cacheKey);
+        } catch (IOException e) {
+            getLog().warn("Unable to restore the generated sources from " + generationCacheDirectory
+                + ": " + e.getMessage());
+        }
+        return false;
+    }
+
+    private List<Path> getStateRoots(BuildParameters parameters) {
+        return getStateRoots(target, parameters);
+    }
+
+    /**
+     * Get the directories compared by the generation state of a target: main
+     * modules only depend on main sources, test modules on both
+     *
+     * @param target     The target
+     * @param parameters The build parameters
+     * @return The source and configuration directories
+     */
+    static List<Path> getStateRoots(BuildTarget target, BuildParameters parameters) {
+        List<Path> roots = new ArrayList<>(parameters.getSourcePaths());
+        roots.add(parameters.getConfigurationDirectory());
+        if (target == BuildTarget.TEST) {
+            roots.addAll(parameters.getTestSourcePaths());
+            roots.add(parameters.getTestConfigurationDirectory());
+        }
+        return roots;
+    }
+
+    private Set<String> getModuleNames(Set<Path> modules, BuildParameters parameters) {
+        Set<String> names = new HashSet<>();
+        for (Path module : modules) {
+            for (Path root : getStateRoots(parameters)) {
+                Path absoluteRoot = root.toAbsolutePath();
+                if (module.startsWith(absoluteRoot)) {
+                    String relative = absoluteRoot.relativize(module).toString();
+                    int dot = relative.lastIndexOf('.');
+                    names.add((dot > 0 ? relative.substring(0, dot) : relative)
+                        .replace(File.separatorChar, '.'));
+                    break;
+                }
+            }
+        }
+        return names;
+    }
+
+    private File getGeneratedSourceDirectory() {
 
         //  FIX THIS (FL) The generated source path is hardcoded here and sb-server.
         //  We should get this out of the build, possibly through the notifier.
         //
-        String directory = project.getBuild().getDirectory() + "/generated-"
+        return new File(project.getBuild().getDirectory() + "/generated-"
             + (target == BuildTarget.MAIN ? "" : "test-")
-            + "sources/streaming";
+            + "sources/streaming");
+    }
+
+    private void addGeneratedSourceRoot() {
+
+        String directory = getGeneratedSourceDirectory().getPath();
 
         if (target == BuildTarget.MAIN) {
             project.addCompileSourceRoot(directory);
@@ -407,9 +975,27 @@ public abstract class BaseGenerateMojo extends BaseMojo {
             .map(File::toPath).collect(Collectors.toList());
     }
 
+    /**
+     * Build notifier, safe for concurrent callbacks when modules are built in parallel
+     */
     private class BuildNotifier implements IBuildNotifier {
 
         private final ProjectModuleData moduleData = new ProjectModuleData();
+        private final GenerationReport report = new GenerationReport();
+        private final Set<String> generated = ConcurrentHashMap.newKeySet();
+        private final int parallelism;
+        private final GeneratedSourceCompiler compiler;
+        private volatile boolean cancelled;
+
+        private BuildNotifier(int parallelism, GeneratedSourceCompiler compiler) {
+            this.parallelism = parallelism;
+            this.compiler = compiler;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
 
         @Override
         public void onBuildStarted(int nbModules) {
@@ -424,7 +1010,9 @@ public abstract class BaseGenerateMojo extends BaseMojo {
         @Override
         public void onSkipped(String entityName, String extension) {
             getLog().debug("Module " + entityName + ": code generation SKIPPED");
+            report.skipped();
             moduleData.addModule(entityName, extension);
+            generated.add(entityName);
         }
 
         @Override
@@ -440,7 +1028,12 @@ public abstract class BaseGenerateMojo extends BaseMojo {
         }
 
         @Override
-        public void onCompleted(BuildResult result) {
+        public synchronized void onCompleted(BuildResult result) {
+
+            //  Synchronized so that the report of a failure is not interleaved
+            //  with the report of another.
+            //
+            report.add(result);
 
             double seconds = result.getElapsedTimeMillis();
             seconds /= TimeUnit.MILLISECONDS.convert(1, TimeUnit.SECONDS);
@@ -451,6 +1044,10 @@ public abstract class BaseGenerateMojo extends BaseMojo {
                 getLog().debug("Module " + entityName
                     + ": code generation SUCCESS"
                     + " (in " + String.format("%.3f", seconds) + " seconds)");
+                generated.add(entityName);
+                if (compiler != null) {
+                    compiler.submit();
+                }
                 return;
             }
 
@@ -508,10 +1105,14 @@ public abstract class BaseGenerateMojo extends BaseMojo {
             //
             getLog().debug("Exception for above failure", error);
 
-            //  Stop on first error if needed.
+            //  Stop on first error if needed: builds in progress on other
+            //  threads check for the cancellation.
             //
             if (failFast) {
-                throw new FailFastException();
+                cancelled = true;
+                if (parallelism == 1) {
+                    throw new FailFastException();
+                }
             }
         }
     }
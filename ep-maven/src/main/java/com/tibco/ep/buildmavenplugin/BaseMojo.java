@@ -30,16 +30,19 @@
 package com.tibco.ep.buildmavenplugin;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.security.AccessController;
+import java.security.CodeSource;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -48,9 +51,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.jar.Attributes;
-import java.util.jar.JarInputStream;
+import java.util.jar.JarEntry;
 import java.util.jar.Manifest;
 
 import org.apache.maven.artifact.Artifact;
@@ -75,6 +82,7 @@ import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
 import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
 import org.apache.maven.shared.dependency.graph.DependencyNode;
 import org.apache.maven.shared.dependency.graph.traversal.DependencyNodeVisitor;
+import org.codehaus.plexus.personality.plexus.lifecycle.phase.Disposable;
 import org.sonatype.plexus.build.incremental.BuildContext;
 
 import com.tibco.ep.buildmavenplugin.admin.RuntimeCommandRunner;
@@ -87,7 +95,7 @@ import com.tibco.ep.sb.services.management.IRuntimeAdminService;
 /**
  * Base type
  */
-abstract class BaseMojo extends AbstractMojo {
+abstract class BaseMojo extends AbstractMojo implements Disposable {
 
     /**
      * TIBCO EP Fragment List manifest entry name
@@ -228,6 +236,33 @@ abstract class BaseMojo extends AbstractMojo {
      */
     @Parameter
     String[] ignoreLeaks;
+    /**
+     * <p>Number of threads used to resolve the platform service jars.</p>
+     *
+     * <p>The default value of 0 uses the number of available processors, up to 8.</p>
+     *
+     * <p>Example use on commandline:</p>
+     * <pre>
+     *     mvn install -DresolveThreads=4
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "resolveThreads", defaultValue = "0")
+    int resolveThreads;
+    /**
+     * <p>Set this to 'true' to run code generation in the build daemon started
+     * with the build-daemon goal, when one is running for the product version.</p>
+     *
+     * <p>Example use on commandline:</p>
+     * <pre>
+     *     mvn install -DuseBuildDaemon=true
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "useBuildDaemon", defaultValue = "false")
+    boolean useBuildDaemon;
 
     @Component(hint = "default")
     private DependencyGraphBuilder dependencyGraphBuilder;
@@ -235,7 +270,7 @@ abstract class BaseMojo extends AbstractMojo {
     @Parameter(defaultValue = "${reactorProjects}", readonly = true, required = true)
     private List<MavenProject> reactorProjects;
 
-    private PluginClassloader classLoader = null;
+    private final List<PlatformServices.Entry> platformServices = new ArrayList<>();
     private IRuntimeAdminService adminService;
     private IRuntimeBuildService buildService;
 
@@ -295,24 +330,11 @@ abstract class BaseMojo extends AbstractMojo {
      */
     boolean initializeService(PlatformService service, ErrorHandling errorHandling) throws MojoExecutionException {
 
-        if (classLoader == null) {
-            AccessController.doPrivileged(new PrivilegedAction<Void>() {
-                public Void run() {
-                    classLoader = new PluginClassloader(new URL[0], this.getClass()
-                        .getClassLoader());
-                    return null;
-                }
-            });
-        }
-
         if (adminService == null && service == PlatformService.ADMINISTRATION) {
 
-            loadJarForService(PlatformService.ADMINISTRATION);
-
-            adminService = doGetService(
-                () -> RuntimeServices.getAdminService(classLoader),
-                IRuntimeAdminService.class,
-                errorHandling);
+            requireProduct(ProductSubset.ADMIN);
+            adminService = getSharedService(PlatformService.ADMINISTRATION,
+                RuntimeServices::getAdminService, IRuntimeAdminService.class, errorHandling);
 
             if (adminService != null) {
 
@@ -338,17 +360,82 @@ abstract class BaseMojo extends AbstractMojo {
 
         if (buildService == null && service == PlatformService.CODE_GENERATION) {
 
-            loadJarForService(PlatformService.CODE_GENERATION);
-
-            buildService = doGetService(
-                () -> RuntimeServices.getBuildService(classLoader),
-                IRuntimeBuildService.class,
-                errorHandling);
+            requireProduct(ProductSubset.GENERATE);
+            if (useBuildDaemon) {
+                buildService = BuildDaemon.connect(getBuildDaemonFile(), getLog());
+                if (buildService != null) {
+                    getLog().info("Using build daemon");
+                } else {
+                    getLog().info("No build daemon running for product version " + getProductVersion());
+                }
+            }
+            if (buildService == null) {
+                buildService = getSharedService(PlatformService.CODE_GENERATION,
+                    RuntimeServices::getBuildService, IRuntimeBuildService.class, errorHandling);
+            }
         }
 
         return true;
     }
 
+    /**
+     * @return The file publishing the build daemon of the product version
+     * @throws MojoExecutionException if the product version cannot be determined
+     */
+    File getBuildDaemonFile() throws MojoExecutionException {
+        return new File(new File(localRepository.getBasedir()).getParentFile(),
+            "ep-build-daemon-" + getProductVersion() + ".properties");
+    }
+
+    /**
+     * Get a service from the class loader shared by the session for the
+     * product version and service type, or by the project in parallel
+     * sessions, loading its jars on first use.
+     * <p>
+     * The service instance is looked up for this execution only.
+     *
+     * @param service       The service type
+     * @param getter        Gets the service from the class loader
+     * @param serviceClass  The service class
+     * @param errorHandling Error handling
+     * @param <T>           The service type
+     * @return The service, null if not found and errors are not reported as exceptions
+     * @throws MojoExecutionException if jar loading or the service lookup fails
+     */
+    private <T> T getSharedService(PlatformService service, Function<ClassLoader, T> getter,
+        Class<T> serviceClass, ErrorHandling errorHandling) throws MojoExecutionException {
+
+        //  Parallel builds of projects do not share the service implementations.
+        //
+        String scope = session != null && session.isParallel() ? project.getId() : null;
+        PlatformServices.Entry entry = PlatformServices.get(session).acquire(getProductVersion(), service, scope,
+            () -> AccessController.doPrivileged((PrivilegedAction<PluginClassloader>) () ->
+                new PluginClassloader(new URL[0], BaseMojo.class.getClassLoader())));
+        platformServices.add(entry);
+
+        synchronized (entry) {
+            if (!entry.isLoaded()) {
+                loadJarForService(service, entry.getClassLoader());
+                entry.setLoaded();
+            } else {
+                getLog().debug("Using shared class loader for " + serviceClass.getSimpleName());
+            }
+        }
+        return doGetService(() -> getter.apply(entry.getClassLoader()), serviceClass, errorHandling);
+    }
+
+    /**
+     * Release the shared class loaders used by this execution
+     */
+    @Override
+    public void dispose() {
+        PlatformServices services = PlatformServices.get(session);
+        for (PlatformServices.Entry entry : platformServices) {
+            services.release(entry);
+        }
+        platformServices.clear();
+    }
+
     private <T> T doGetService(Supplier<T> getter, Class<T> serviceClass, ErrorHandling errorHandling) throws MojoExecutionException {
 
         T service = getter.get();
@@ -371,7 +458,7 @@ abstract class BaseMojo extends AbstractMojo {
      *
      * @throws MojoExecutionException if jar loading fails
      */
-    private void loadJarForService(PlatformService service) throws MojoExecutionException {
+    private void loadJarForService(PlatformService service, PluginClassloader classLoader) throws MojoExecutionException {
 
         // Needed for testing, since test stub API version is different from production version.
         String productVersion = getProductVersion();
@@ -381,15 +468,15 @@ abstract class BaseMojo extends AbstractMojo {
         }
 
         if (service == PlatformService.ADMINISTRATION) {
-            loadArtifact(DTM_GROUP_IDENTIFIER, DTM_MANAGEMENT_ARTIFACT_IDENTIFIER, productVersion);
+            loadArtifact(classLoader, DTM_GROUP_IDENTIFIER, DTM_MANAGEMENT_ARTIFACT_IDENTIFIER, productVersion);
         } else {
             assert service == PlatformService.CODE_GENERATION;
-            loadArtifact(SB_GROUP_IDENTIFIER, SB_SERVER_ARTIFACT_IDENTIFIER, productVersion);
-            loadArtifact(SB_RT_GROUP_IDENTIFIER, SB_CONTAINER_IDENTIFIER, productVersion);
+            loadArtifact(classLoader, SB_GROUP_IDENTIFIER, SB_SERVER_ARTIFACT_IDENTIFIER, productVersion);
+            loadArtifact(classLoader, SB_RT_GROUP_IDENTIFIER, SB_CONTAINER_IDENTIFIER, productVersion);
         }
     }
 
-    private void loadArtifact(String groupIdentifier, String artifactIdentifier, String productVersion) throws MojoExecutionException {
+    private void loadArtifact(PluginClassloader classLoader, String groupIdentifier, String artifactIdentifier, String productVersion) throws MojoExecutionException {
 
         String jarCoordinates = groupIdentifier + ":" + artifactIdentifier + ":" + productVersion;
         getLog().debug("Loading: " + jarCoordinates);
@@ -399,43 +486,79 @@ abstract class BaseMojo extends AbstractMojo {
         Set<Artifact> managementAPIDependencies = getProjectDependencies(
             new HashSet<>(Collections.singletonList(managementAPIArtifact)));
 
-        for (final Artifact artifact : managementAPIDependencies) {
+        //  Resolve concurrently, then add to the class loader in the
+        //  iteration order of the dependency set so that the class path
+        //  does not depend on which resolution finishes first.
+        //
+        List<Artifact> artifacts = new ArrayList<>(managementAPIDependencies);
+        int threads = Math.min(Math.max(1, artifacts.size()), resolveThreads > 0
+            ? resolveThreads : Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ep-resolve");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<File>> futures = new ArrayList<>();
+            for (final Artifact artifact : artifacts) {
+                futures.add(executor.submit(() -> resolveArtifact(artifact)));
+            }
+
+            for (int i = 0; i < artifacts.size(); i++) {
+                Artifact artifact = artifacts.get(i);
+                File file;
+                try {
+                    file = futures.get(i).get();
+                } catch (ExecutionException e) {
+                    throw new MojoExecutionException(
+                        "Unable to locate "
+                            + artifact.getGroupId()
+                            + "."
+                            + artifact.getArtifactId()
+                            + "-"
+                            + artifact.getVersion()
+                            + " (expected at "
+                            + getArtifactPath(artifact)
+                            + ") - ensure that repository is on-line", e.getCause());
+                }
 
-            ArtifactResolutionRequest request = new ArtifactResolutionRequest();
-            request.setArtifact(artifact);
-            request.setRemoteRepositories(remoteRepositories);
-            request.setLocalRepository(localRepository);
-            repositorySystem.resolve(request);
+                if (artifact.getGroupId().equals(groupIdentifier)
+                    && artifact.getArtifactId().equals(artifactIdentifier)) {
+                    getLog().debug("Loading: " + jarCoordinates
+                        + " from " + file + " (and dependencies)");
+                }
 
-            String artifactPath = getArtifactPath(artifact);
-            if (artifact.getGroupId().equals(groupIdentifier)
-                && artifact.getArtifactId().equals(artifactIdentifier)) {
-                getLog().debug("Loading: " + jarCoordinates
-                    + " from " + artifactPath + " (and dependencies)");
+                try {
+                    classLoader.addURL(file.toURI().toURL());
+                } catch (MalformedURLException e) {
+                    throw new MojoExecutionException("Unable to load " + file, e);
+                }
             }
 
-            try {
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while resolving " + jarCoordinates, e);
 
-                File file = new File(artifactPath);
-                if (!file.exists()) {
-                    throw new FileNotFoundException("Failed to find:" + artifactPath);
-                }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-                classLoader.addURL(file.toURI().toURL());
+    private File resolveArtifact(Artifact artifact) throws FileNotFoundException {
 
-            } catch (Exception e) {
-                throw new MojoExecutionException(
-                    "Unable to locate "
-                        + artifact.getGroupId()
-                        + "."
-                        + artifact.getArtifactId()
-                        + "-"
-                        + artifact.getVersion()
-                        + " (expected at "
-                        + artifactPath
-                        + ") - ensure that repository is on-line", e);
-            }
+        ArtifactResolutionRequest request = new ArtifactResolutionRequest();
+        request.setArtifact(artifact);
+        request.setRemoteRepositories(remoteRepositories);
+        request.setLocalRepository(localRepository);
+        repositorySystem.resolve(request);
+
+        String artifactPath = getArtifactPath(artifact);
+        File file = new File(artifactPath);
+        if (!file.exists()) {
+            throw new FileNotFoundException("Failed to find:" + artifactPath);
         }
+        return file;
     }
 
     /**
@@ -508,21 +631,21 @@ abstract class BaseMojo extends AbstractMojo {
      */
     Optional<String> getManifestEntry(String path, String entry) {
 
-        try (JarInputStream jarStream = new JarInputStream(new FileInputStream(path))) {
-
-            Manifest mf = jarStream.getManifest();
-            if (mf.getMainAttributes().containsKey(new Attributes.Name(entry))) {
-                return Optional.of(mf.getMainAttributes().getValue(entry));
-            }
-
-            return Optional.empty();
-
+        try {
+            return getManifestIndex().getMainAttribute(new File(path), entry);
         } catch (IOException e) {
             getLog().warn("No manifest could be read for: " + path, e);
             return Optional.empty();
         }
     }
 
+    /**
+     * @return The manifest index of the project
+     */
+    ManifestIndex getManifestIndex() {
+        return ManifestIndex.get(session, new File(project.getBuild().getDirectory(), "ep-manifest-index.properties"));
+    }
+
     /**
      * get the project dependencies as artifacts
      *
@@ -602,6 +725,12 @@ abstract class BaseMojo extends AbstractMojo {
             }
         }
 
+        try {
+            getManifestIndex().save();
+        } catch (IOException e) {
+            getLog().debug("Unable to save manifest index", e);
+        }
+
         return compileDependencies;
     }
 
@@ -618,9 +747,11 @@ abstract class BaseMojo extends AbstractMojo {
             .getProjectBuildingRequest());
         buildingRequest.setProject(project);
 
+        //  The graph is shared by the mojo executions of the project.
+        //
         try {
-            DependencyNode rootNode = dependencyGraphBuilder
-                .buildDependencyGraph(buildingRequest, null, reactorProjects);
+            DependencyNode rootNode = DependencyGraphCache.get(session).get(project, () -> dependencyGraphBuilder
+                .buildDependencyGraph(buildingRequest, null, reactorProjects));
             rootNode.accept(dependencyVisitorContext);
         } catch (DependencyGraphBuilderException e) {
             throw new MojoExecutionException(e.getMessage(), e);
@@ -657,21 +788,28 @@ abstract class BaseMojo extends AbstractMojo {
 
     /**
      * get the project dependencies as artifacts
+     * <p>
+     * The dependencies are resolved once per project and shared by the goals of the project.
      *
      * @return set of artifacts
      */
     Set<Artifact> getProjectDependencies() {
 
-        // initial deps
-        //
-        Set<Artifact> artifacts = new LinkedHashSet<>();
-        if (project.getDependencies() != null) {
-            for (Dependency d : project.getDependencies()) {
-                artifacts.add(repositorySystem.createDependencyArtifact(d));
+        Set<Artifact> resolved = ResolutionCache.get(session).get(project, "dependencies", () -> {
+
+            // initial deps
+            //
+            Set<Artifact> artifacts = new LinkedHashSet<>();
+            if (project.getDependencies() != null) {
+                for (Dependency d : project.getDependencies()) {
+                    artifacts.add(repositorySystem.createDependencyArtifact(d));
+                }
             }
-        }
 
-        return getProjectDependencies(artifacts);
+            return Collections.unmodifiableSet(getProjectDependencies(artifacts));
+        });
+
+        return new LinkedHashSet<>(resolved);
     }
 
     /**
@@ -763,12 +901,151 @@ abstract class BaseMojo extends AbstractMojo {
             artifact.getArtifactId().startsWith(SB_SUPPORT_ARTIFACT_PREFIX);
     }
 
+    /**
+     * Install a subset of the product zips found in the project dependencies
+     *
+     * @param installer The installer
+     * @param subset    The subset to install
+     * @param async     True to install in the background, see {@link #requireProduct(ProductSubset)}
+     * @throws MojoExecutionException Installation failed
+     */
+    void installProduct(ProductInstaller installer, ProductSubset subset, boolean async) throws MojoExecutionException {
+
+        // dependencies are resolved now, only the installation runs in the background
+        //
+        List<ProductInstallations.Task> tasks = productInstallTasks(installer, subset, true);
+        ProductInstallations.Task install = () -> {
+            for (ProductInstallations.Task task : tasks) {
+                task.run();
+            }
+        };
+
+        if (async) {
+            ProductInstallations.get(session).submit(productHome, install);
+        } else {
+            install.run();
+        }
+    }
+
+    /**
+     * Install a subset of the product zips partially installed by an
+     * earlier install-product goal.
+     * <p>
+     * Background installations into the product home are waited for first,
+     * and the settings of the install-product goal are used if it ran in this
+     * build.
+     *
+     * @param subset The subset needed
+     * @throws MojoExecutionException Installation failed
+     */
+    void requireProduct(ProductSubset subset) throws MojoExecutionException {
+        if (productHome == null) {
+            return;
+        }
+
+        ProductInstallations.get(session).await(productHome);
+
+        ProductInstaller installer = null;
+        if (session != null && session.getRepositorySession() != null) {
+            installer = (ProductInstaller) session.getRepositorySession().getData().get(productInstallerKey());
+        }
+        if (installer == null) {
+            installer = new ProductInstaller(productHome, getLog());
+        }
+        for (ProductInstallations.Task task : productInstallTasks(installer, subset, false)) {
+            task.run();
+        }
+    }
+
+    /**
+     * Register the installer used by the install-product goal for the
+     * later goals of this build
+     *
+     * @param installer The installer
+     */
+    void registerProductInstaller(ProductInstaller installer) {
+        if (session != null && session.getRepositorySession() != null) {
+            session.getRepositorySession().getData().set(productInstallerKey(), installer);
+        }
+    }
+
+    private String productInstallerKey() {
+        return ProductInstaller.class.getName() + ":" + productHome.getAbsolutePath();
+    }
+
+    private List<ProductInstallations.Task> productInstallTasks(ProductInstaller installer, ProductSubset subset, boolean install) {
+
+        // each zip is checked once per session, whatever the number of modules
+        //
+        ProductInstallations installations = ProductInstallations.get(session);
+
+        List<ProductInstallations.Task> tasks = new ArrayList<>();
+        for (Artifact artifact : getProjectDependencies("zip")) {
+
+            final String artifactAsString = artifact.toString();
+
+            // skip provided
+            if (artifact.getScope().equals(Artifact.SCOPE_PROVIDED)) {
+                getLog().debug("Ignoring provided artifact " + artifactAsString);
+                continue;
+            }
+
+            // Platform and main attachments only.
+            if (!isPlatformArtifact(artifact)) {
+                getLog().debug("Ignoring non-platform artifact " + artifactAsString);
+                continue;
+            }
+
+            if (null != artifact.getClassifier()) {
+                getLog().debug("Ignore classified artifact " + artifactAsString);
+                continue;
+            }
+
+            getLog().debug(artifactAsString + " local path = " + getArtifactPath(artifact));
+
+            File sourceFile = new File(getArtifactPath(artifact));
+
+            String name = getArtifactName(artifact);
+            String key = productHome.getAbsolutePath() + "|" + name + "|" + sourceFile.getAbsolutePath()
+                + "|" + sourceFile.length() + "|" + sourceFile.lastModified() + "|" + subset + "|" + install;
+
+            if (!install) {
+                tasks.add(() -> installations.once(key,
+                    () -> installer.complete(artifactAsString, name, sourceFile, subset, false)));
+                continue;
+            }
+
+            String validationFile = null;
+            if (isSBProduct(artifact)) {
+                validationFile = installer.getSbProductValidationFile();
+            } else if (isDTMProduct(artifact)) {
+                validationFile = installer.getDtmProductValidationFile();
+            } else if (isDTMSupport(artifact)) {
+                validationFile = installer.getDtmSupportValidationFile();
+            }
+
+            final String validation = validationFile;
+            tasks.add(() -> {
+                if (!installations.once(key, () -> installer.install(artifactAsString, name, sourceFile, validation, subset))) {
+                    getLog().info(artifactAsString + " already installed to " + productHome + " in this build");
+                }
+            });
+        }
+        return tasks;
+    }
+
     /**
      * Get product version based on dependencies
+     * <p>
+     * The version is detected once per project and shared by the goals of the project.
      *
      * @return product version
      */
     String getProductVersion() {
+        return ResolutionCache.get(session).get(project, "productVersion", this::findProductVersion);
+    }
+
+    private String findProductVersion() {
 
         // FIX THIS - DJS: We should assert these are all the same
 
@@ -904,9 +1181,14 @@ abstract class BaseMojo extends AbstractMojo {
 
     /**
      * local classloader to be used to load admin jars
+     * <p>
+     * Classes and resources are looked up through an index of the packages
+     * of each jar, rather than by searching every jar in turn.
      */
     public static class PluginClassloader extends URLClassLoader {
 
+        private final PackageIndex index = new PackageIndex();
+
         /**
          * Constructor
          *
@@ -915,6 +1197,9 @@ abstract class BaseMojo extends AbstractMojo {
          */
         public PluginClassloader(URL[] urls, ClassLoader parent) {
             super(urls, parent);
+            for (URL url : urls) {
+                index.add(url);
+            }
         }
 
         /**
@@ -924,6 +1209,88 @@ abstract class BaseMojo extends AbstractMojo {
          */
         public void addURL(URL url) {
             super.addURL(url);
+            index.add(url);
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            String path = name.replace('.', '/') + ".class";
+            List<PackageIndex.IndexedJar> jars = index.find(path);
+
+            if (jars.isEmpty()) {
+                if (index.isComplete()) {
+                    throw new ClassNotFoundException(name);
+                }
+                return super.findClass(name);
+            }
+
+            PackageIndex.IndexedJar jar = jars.get(0);
+            try {
+                JarEntry entry = jar.getJarFile().getJarEntry(path);
+                byte[] bytes;
+                try (InputStream input = jar.getJarFile().getInputStream(entry)) {
+                    bytes = input.readAllBytes();
+                }
+
+                int dot = name.lastIndexOf('.');
+                if (dot > 0) {
+                    String packageName = name.substring(0, dot);
+                    if (getDefinedPackage(packageName) == null) {
+                        try {
+                            Manifest manifest = jar.getJarFile().getManifest();
+                            if (manifest != null) {
+                                definePackage(packageName, manifest, jar.getUrl());
+                            } else {
+                                definePackage(packageName, null, null, null, null, null, null, null);
+                            }
+                        } catch (IllegalArgumentException e) {
+                            // defined concurrently
+                        }
+                    }
+                }
+
+                return defineClass(name, bytes, 0, bytes.length,
+                    new CodeSource(jar.getUrl(), entry.getCodeSigners()));
+
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+
+        @Override
+        public URL findResource(String name) {
+
+            //  Directory entries are not indexed.
+            //
+            if (name.endsWith("/")) {
+                return super.findResource(name);
+            }
+            List<PackageIndex.IndexedJar> jars = index.find(name);
+            if (!jars.isEmpty()) {
+                return jars.get(0).getEntryUrl(jars.get(0).getJarFile().getJarEntry(name));
+            }
+            return index.isComplete() ? null : super.findResource(name);
+        }
+
+        @Override
+        public Enumeration<URL> findResources(String name) throws IOException {
+            if (name.endsWith("/") || !index.isComplete()) {
+                return super.findResources(name);
+            }
+            List<URL> urls = new ArrayList<>();
+            for (PackageIndex.IndexedJar jar : index.find(name)) {
+                urls.add(jar.getEntryUrl(jar.getJarFile().getJarEntry(name)));
+            }
+            return Collections.enumeration(urls);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                index.close();
+            } finally {
+                super.close();
+            }
         }
     }
 
@@ -43,6 +43,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 
@@ -271,6 +272,41 @@ abstract class BaseTestMojo extends BaseExecuteMojo {
      */
     @Parameter(property = "skipStop")
     boolean skipStop;
+    /**
+     * <p>Set this to 'true' to pass the test classpath to the node as a
+     * manifest-only jar, target/ep-test-classpath.jar, instead of a list of
+     * classpath elements.</p>
+     *
+     * <p>Example use on commandline:</p>
+     * <pre>
+     *     mvn install -DusePathingJar=true
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "usePathingJar", defaultValue = "false")
+    boolean usePathingJar;
+    /**
+     * <p>Set this to 'true' to start test node JVMs with a class data sharing
+     * archive of the jars of the test classpath, kept in target/ep-cds.</p>
+     *
+     * <p>The test classpath is arranged with its jars before its directories,
+     * unless a directory holds an entry of a later jar. The first test run of
+     * a deployment records the classes it loads, the next one dumps an archive
+     * of those found in the JDK or in the jars, which is used by later test runs
+     * until a dependency changes. The archive is dumped with the JVM running
+     * Maven and is ignored by node JVMs of another version. Class data sharing
+     * is not used with a pathing jar.</p>
+     *
+     * <p>Example use on commandline:</p>
+     * <pre>
+     *     mvn install -DuseClassDataSharing=true
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "useClassDataSharing", defaultValue = "false")
+    boolean useClassDataSharing;
     /**
      * The classpath elements of the project being tested.
      *
@@ -376,7 +412,7 @@ abstract class BaseTestMojo extends BaseExecuteMojo {
         return fullNativePath.toString();
     }
 
-    private String getClassPath(List<File> eventflowDirectories, File liveviewDirectory) throws MojoExecutionException {
+    private TestClassPath getClassPath(List<File> eventflowDirectories, File liveviewDirectory) throws MojoExecutionException {
         // Set classpath for the test run
         //
         StringBuilder classPath = new StringBuilder();
@@ -393,7 +429,7 @@ abstract class BaseTestMojo extends BaseExecuteMojo {
             classPath.append(File.pathSeparatorChar);
             classPath.append(liveviewDirectory.getAbsolutePath());
         }
-        return classPath.toString();
+        return TestClassPath.of(classPath.toString());
     }
 
     /**
@@ -527,6 +563,7 @@ abstract class BaseTestMojo extends BaseExecuteMojo {
         }
         buf.append(File.pathSeparatorChar);
         buf.append(getArtifactPath(plugin));
+        String pluginVersion = plugin.getVersion();
 
         // include a classpath element for the base surefire API:
         //
@@ -559,22 +596,45 @@ abstract class BaseTestMojo extends BaseExecuteMojo {
             return true;
         };
 
-        try {
-            // Note that this is using a deprecated API ... however, everyone
-            // else seems to use this as well !
-            //
-            DefaultArtifactResolver actualResolver = (DefaultArtifactResolver) artifactResolver;
-            ArtifactResolutionResult result = actualResolver
-                .resolveTransitively(getProjectDependencies(), project.getArtifact(),
-                    project.getManagedVersionMap(), localRepository, project
-                        .getRemoteArtifactRepositories(),
-                    null, filter);
-            for (Artifact artifact : (Set<Artifact>) result.getArtifacts()) {
+        // the resolved dependencies are saved, and reused until the dependencies
+        // or the plugin version change
+        //
+        TestClassPathCache cache = new TestClassPathCache(
+            new File(project.getBuild().getDirectory(), "ep-test-classpath.properties"));
+        String cacheKey = TestClassPathCache.key(project, pluginVersion);
+        Optional<List<String>> cachedClassPath = cache.read(cacheKey);
+
+        if (cachedClassPath.isPresent()) {
+            getLog().debug("Using saved test dependencies");
+            for (String element : cachedClassPath.get()) {
                 buf.append(File.pathSeparatorChar);
-                buf.append(artifact.getFile());
+                buf.append(element);
+            }
+        } else {
+            try {
+                // Note that this is using a deprecated API ... however, everyone
+                // else seems to use this as well !
+                //
+                DefaultArtifactResolver actualResolver = (DefaultArtifactResolver) artifactResolver;
+                ArtifactResolutionResult result = actualResolver
+                    .resolveTransitively(getProjectDependencies(), project.getArtifact(),
+                        project.getManagedVersionMap(), localRepository, project
+                            .getRemoteArtifactRepositories(),
+                        null, filter);
+                List<String> resolvedClassPath = new ArrayList<>();
+                for (Artifact artifact : (Set<Artifact>) result.getArtifacts()) {
+                    buf.append(File.pathSeparatorChar);
+                    buf.append(artifact.getFile());
+                    resolvedClassPath.add(String.valueOf(artifact.getFile()));
+                }
+                try {
+                    cache.write(cacheKey, resolvedClassPath);
+                } catch (IOException e) {
+                    getLog().debug("Unable to save test dependencies", e);
+                }
+            } catch (final ArtifactResolutionException | ArtifactNotFoundException e) {
+                getLog().warn(e);
             }
-        } catch (final ArtifactResolutionException | ArtifactNotFoundException e) {
-            getLog().warn(e);
         }
 
         getLog().debug("Full classpath: [" + buf.toString() + "]");
@@ -783,8 +843,32 @@ abstract class BaseTestMojo extends BaseExecuteMojo {
 
             int actualDiscoveryPort = getDiscoveryPort();
 
-            String classPath = getClassPath(eventFlowDirectories, liveViewDirectory);
-            System.setProperty("java.class.path", classPath);
+            TestClassPath classPath = getClassPath(eventFlowDirectories, liveViewDirectory);
+
+            // class data sharing archive of the leading jars
+            //
+            String classDataSharingOption = null;
+            if (useClassDataSharing) {
+                if (usePathingJar) {
+                    getLog().info("Class data sharing is not used with a pathing jar");
+                } else {
+                    try {
+                        List<String> arranged = ClassDataSharing.arrange(classPath.getElements());
+                        if (arranged == null) {
+                            getLog().info("Class data sharing is not used, a test classpath directory shadows a jar");
+                        } else {
+                            classPath = new TestClassPath(arranged);
+                            classDataSharingOption = new ClassDataSharing(
+                                new File(project.getBuild().getDirectory(), "ep-cds"), fragment).getOption(arranged);
+                            getLog().debug("Class data sharing: " + classDataSharingOption);
+                        }
+                    } catch (IOException e) {
+                        getLog().warn("Class data sharing is not used: " + e.getMessage());
+                    }
+                }
+            }
+
+            System.setProperty("java.class.path", classPath.toString());
 
             doSetEnvironment();
 
@@ -842,7 +926,22 @@ abstract class BaseTestMojo extends BaseExecuteMojo {
 
             // java classpath
             //
-            exeParams.add("-Djava.class.path=" + classPath);
+            if (usePathingJar) {
+                File pathingJar = new File(project.getBuild().getDirectory(), "ep-test-classpath.jar");
+                try {
+                    classPath.writePathingJar(pathingJar);
+                } catch (IOException e) {
+                    throw new MojoExecutionException("Unable to write " + pathingJar + ": " + e.getMessage(), e);
+                }
+                getLog().debug("Test classpath of " + classPath.getElements().size() + " elements in " + pathingJar);
+                exeParams.add("-Djava.class.path=" + pathingJar.getAbsolutePath());
+            } else {
+                exeParams.add("-Djava.class.path=" + classPath);
+            }
+
+            if (classDataSharingOption != null) {
+                exeParams.add(classDataSharingOption);
+            }
 
             // StreamBase test settings
             //
@@ -0,0 +1,576 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.tibco.ep.sb.services.build.BuildExceptionDetails;
+import com.tibco.ep.sb.services.build.BuildParameters;
+import com.tibco.ep.sb.services.build.BuildPhase;
+import com.tibco.ep.sb.services.build.BuildResult;
+import com.tibco.ep.sb.services.build.BuildTarget;
+import com.tibco.ep.sb.services.build.IBuildNotifier;
+import com.tibco.ep.sb.services.build.IRuntimeBuildService;
+
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.COMMAND_BUILD;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.COMMAND_CANCEL;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.COMMAND_PING;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.COMMAND_STOP;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.EVENT_BUILD_COMPLETED;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.EVENT_BUILD_STARTED;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.EVENT_COMPLETED;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.EVENT_END;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.EVENT_ERROR;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.EVENT_SKIPPED;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.EVENT_STARTED;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.EVENT_WARNING;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.VERSION;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.readDetails;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.readException;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.readParameters;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.readString;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.writeDetails;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.writeException;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.writeParameters;
+import static com.tibco.ep.buildmavenplugin.BuildDaemonProtocol.writeString;
+
+/**
+ * Local daemon hosting a build service.
+ * <p>
+ * The daemon listens on a loopback port, and publishes the port and an
+ * access token in a daemon file. Builds are run one at a time, unless the
+ * service is concurrent, with the notifier events streamed back to the client.
+ */
+final class BuildDaemon implements Closeable {
+
+    private static final String PORT = "port";
+    private static final String TOKEN = "token";
+
+    private final IRuntimeBuildService service;
+    private final File daemonFile;
+    private final Log log;
+    private final ServerSocket serverSocket;
+    private final String token;
+    private final Object buildLock = new Object();
+    private volatile boolean stopped;
+
+    /**
+     * Start listening
+     *
+     * @param service    The build service
+     * @param daemonFile The file publishing the daemon port and token
+     * @param port       The port, 0 for any free port
+     * @param log        The log
+     * @throws IOException Unable to listen or write the daemon file
+     */
+    BuildDaemon(IRuntimeBuildService service, File daemonFile, int port, Log log) throws IOException {
+        this.service = service;
+        this.daemonFile = daemonFile;
+        this.log = log;
+
+        byte[] random = new byte[16];
+        new SecureRandom().nextBytes(random);
+        StringBuilder hex = new StringBuilder();
+        for (byte b : random) {
+            hex.append(String.format("%02x", b));
+        }
+        this.token = hex.toString();
+
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        try {
+            writeDaemonFile();
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The port the daemon listens on
+     */
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Serve clients until the daemon is stopped or closed
+     */
+    void run() {
+        while (!stopped) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (!stopped) {
+                    log.warn("Build daemon: " + e.getMessage());
+                }
+                break;
+            }
+
+            Thread thread = new Thread(() -> serve(socket), "ep-build-daemon-client");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        stopped = true;
+        try {
+            serverSocket.close();
+        } finally {
+            deleteDaemonFile();
+        }
+    }
+
+    /**
+     * Connect to the daemon published in a file
+     *
+     * @param daemonFile The daemon file
+     * @param log        The log
+     * @return A build service forwarding to the daemon, or null if no daemon is running
+     */
+    static IRuntimeBuildService connect(File daemonFile, Log log) {
+        if (!daemonFile.isFile()) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(daemonFile.toPath())) {
+            properties.load(input);
+            Client client = new Client(Integer.parseInt(properties.getProperty(PORT)), properties.getProperty(TOKEN));
+            client.ping();
+            return client;
+        } catch (IOException | RuntimeException e) {
+            log.debug("No build daemon at " + daemonFile + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Stop the daemon published in a file
+     *
+     * @param daemonFile The daemon file
+     * @param log        The log
+     * @return True if a daemon was stopped
+     */
+    static boolean stop(File daemonFile, Log log) {
+        IRuntimeBuildService client = connect(daemonFile, log);
+        if (client == null) {
+            return false;
+        }
+        try {
+            ((Client) client).command(COMMAND_STOP);
+            return true;
+        } catch (IOException e) {
+            log.debug("Unable to stop build daemon: " + e);
+            return false;
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket ignored = socket;
+             DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+
+            if (input.readInt() != VERSION || !token.equals(readString(input))) {
+                log.warn("Build daemon: rejected connection");
+                return;
+            }
+
+            byte command = input.readByte();
+            if (command == COMMAND_PING) {
+                output.writeByte(EVENT_END);
+
+            } else if (command == COMMAND_STOP) {
+                log.info("Build daemon: stop requested");
+
+                //  Acknowledge once the daemon file is gone, so the client
+                //  can start another daemon straight away.
+                //
+                close();
+                output.writeByte(EVENT_END);
+
+            } else if (command == COMMAND_BUILD) {
+                String name = readString(input);
+                BuildTarget target = BuildTarget.valueOf(readString(input));
+                BuildParameters parameters = readParameters(input);
+
+                //  The client sends a cancel command, or closes the
+                //  connection, to cancel the build.
+                //
+                AtomicBoolean cancelled = new AtomicBoolean();
+                Thread watcher = new Thread(() -> {
+                    try {
+                        input.read();
+                    } catch (IOException e) {
+                        // connection closed
+                    }
+                    cancelled.set(true);
+                }, "ep-build-daemon-cancel");
+                watcher.setDaemon(true);
+                watcher.start();
+
+                build(name, target, parameters, output, cancelled);
+            }
+
+            output.flush();
+
+        } catch (UncheckedIOException | SocketException e) {
+            log.debug("Build daemon: client disconnected: " + e);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Build daemon: " + e);
+        }
+    }
+
+    private void build(String name, BuildTarget target, BuildParameters parameters, DataOutputStream output,
+        AtomicBoolean cancelled) throws IOException {
+        if (service.isConcurrent()) {
+            log.info("Build daemon: building " + name + " (" + target + ")");
+            runBuild(name, target, parameters, new Notifier(output, cancelled), output);
+            return;
+        }
+
+        synchronized (buildLock) {
+            log.info("Build daemon: building " + name + " (" + target + ")");
+
+            Path engineDataArea = parameters.getEngineDataArea();
+            if (engineDataArea == null && parameters.getBuildDirectory() != null) {
+                engineDataArea = parameters.getBuildDirectory().resolve("tmp").toAbsolutePath();
+            }
+            if (engineDataArea != null) {
+                Files.createDirectories(engineDataArea);
+                System.setProperty(BaseGenerateMojo.ENGINE_DATA_AREA, engineDataArea.toString());
+            }
+
+            runBuild(name, target, parameters, new Notifier(output, cancelled), output);
+        }
+    }
+
+    private void runBuild(String name, BuildTarget target, BuildParameters parameters, Notifier notifier,
+        DataOutputStream output) throws IOException {
+        try {
+            service.build(name, target, parameters, notifier);
+            synchronized (output) {
+                output.writeByte(EVENT_END);
+            }
+        } catch (UncheckedIOException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            synchronized (output) {
+                output.writeByte(EVENT_ERROR);
+                writeException(output, e);
+            }
+        }
+    }
+
+    private void writeDaemonFile() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(PORT, Integer.toString(getPort()));
+        properties.setProperty(TOKEN, token);
+
+        Path path = daemonFile.toPath().toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Path temporary = Files.createTempFile(path.getParent(), daemonFile.getName(), ".tmp");
+        try {
+            try {
+                Files.setPosixFilePermissions(temporary, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException e) {
+                // not a POSIX file system
+            }
+            try (OutputStream output = Files.newOutputStream(temporary)) {
+                properties.store(output, "ep-maven-plugin build daemon");
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void deleteDaemonFile() throws IOException {
+        //  Only remove the file if it still describes this daemon.
+        //
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(daemonFile.toPath())) {
+            properties.load(input);
+        } catch (IOException e) {
+            return;
+        }
+        if (token.equals(properties.getProperty(TOKEN))) {
+            Files.deleteIfExists(daemonFile.toPath());
+        }
+    }
+
+    /**
+     * Stream notifier events to the client
+     */
+    private final class Notifier implements IBuildNotifier {
+
+        private final DataOutputStream output;
+        private final AtomicBoolean cancelled;
+
+        private Notifier(DataOutputStream output, AtomicBoolean cancelled) {
+            this.output = output;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+
+        @Override
+        public void onBuildStarted(int nbModules) {
+            send(() -> {
+                output.writeByte(EVENT_BUILD_STARTED);
+                output.writeInt(nbModules);
+            });
+        }
+
+        @Override
+        public void onBuildCompleted() {
+            send(() -> output.writeByte(EVENT_BUILD_COMPLETED));
+        }
+
+        @Override
+        public void onSkipped(String entityName, String entityExtension) {
+            send(() -> {
+                output.writeByte(EVENT_SKIPPED);
+                writeString(output, entityName);
+                writeString(output, entityExtension);
+            });
+        }
+
+        @Override
+        public void onStarted(String entityName, String entityExtension) {
+            send(() -> {
+                output.writeByte(EVENT_STARTED);
+                writeString(output, entityName);
+                writeString(output, entityExtension);
+            });
+        }
+
+        @Override
+        public void onWarning(String entityName, String warning) {
+            send(() -> {
+                output.writeByte(EVENT_WARNING);
+                writeString(output, entityName);
+                writeString(output, warning);
+            });
+        }
+
+        @Override
+        public void onCompleted(BuildResult result) {
+            send(() -> {
+                output.writeByte(EVENT_COMPLETED);
+                writeString(output, result.getEntityName());
+                writeString(output, result.getEntityPath() == null ? null : result.getEntityPath().toString());
+                output.writeLong(result.getElapsedTimeMillis());
+                output.writeInt(result.getPhaseTimesMillis().size());
+                for (Map.Entry<BuildPhase, Long> phase : result.getPhaseTimesMillis().entrySet()) {
+                    writeString(output, phase.getKey().name());
+                    output.writeLong(phase.getValue());
+                }
+                output.writeBoolean(result.getException().isPresent());
+                if (result.getException().isPresent()) {
+                    Exception exception = result.getException().get();
+                    writeDetails(output, service.getDetails(exception));
+                    writeException(output, exception);
+                }
+            });
+        }
+
+        private void send(Event event) {
+            synchronized (output) {
+                try {
+                    event.write();
+                    output.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    private interface Event {
+        void write() throws IOException;
+    }
+
+    /**
+     * Build service forwarding to a daemon
+     */
+    private static final class Client implements IRuntimeBuildService {
+
+        private final int port;
+        private final String token;
+
+        private Client(int port, String token) {
+            this.port = port;
+            this.token = token;
+        }
+
+        @Override
+        public boolean isConcurrent() {
+
+            //  The daemon serializes the builds itself when its service is not
+            //  concurrent.
+            //
+            return true;
+        }
+
+        @Override
+        public void build(String name, BuildTarget buildTarget, BuildParameters parameters, IBuildNotifier notifier) {
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                 DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                 DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+
+                writeHeader(output, COMMAND_BUILD);
+                writeString(output, name);
+                writeString(output, buildTarget.name());
+                writeParameters(output, parameters);
+                output.flush();
+
+                boolean cancelSent = false;
+                while (true) {
+                    if (!cancelSent && notifier.isCancelled()) {
+                        output.writeByte(COMMAND_CANCEL);
+                        output.flush();
+                        cancelSent = true;
+                    }
+
+                    byte event = input.readByte();
+                    switch (event) {
+                        case EVENT_BUILD_STARTED:
+                            notifier.onBuildStarted(input.readInt());
+                            break;
+                        case EVENT_SKIPPED:
+                            notifier.onSkipped(readString(input), readString(input));
+                            break;
+                        case EVENT_STARTED:
+                            notifier.onStarted(readString(input), readString(input));
+                            break;
+                        case EVENT_WARNING:
+                            notifier.onWarning(readString(input), readString(input));
+                            break;
+                        case EVENT_COMPLETED:
+                            notifier.onCompleted(readResult(input));
+                            break;
+                        case EVENT_BUILD_COMPLETED:
+                            notifier.onBuildCompleted();
+                            break;
+                        case EVENT_END:
+                            return;
+                        case EVENT_ERROR:
+                            throw new IllegalStateException("Build daemon failure", readException(input, List.of()));
+                        default:
+                            throw new IllegalStateException("Unexpected build daemon event " + event);
+                    }
+                }
+
+            } catch (IOException e) {
+                throw new UncheckedIOException("Build daemon failure", e);
+            }
+        }
+
+        @Override
+        public List<BuildExceptionDetails> getDetails(Exception exception) {
+            if (exception instanceof BuildDaemonProtocol.RemoteBuildException) {
+                return ((BuildDaemonProtocol.RemoteBuildException) exception).getDetails();
+            }
+            return List.of(new BuildExceptionDetails().withShortMessage(String.valueOf(exception.getMessage())));
+        }
+
+        private void ping() throws IOException {
+            command(COMMAND_PING);
+        }
+
+        private void command(byte command) throws IOException {
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                 DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                 DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+                writeHeader(output, command);
+                output.flush();
+                if (input.readByte() != EVENT_END) {
+                    throw new IOException("Unexpected build daemon answer");
+                }
+            }
+        }
+
+        private void writeHeader(DataOutputStream output, byte command) throws IOException {
+            output.writeInt(VERSION);
+            writeString(output, token);
+            output.writeByte(command);
+        }
+
+        private static BuildResult readResult(DataInputStream input) throws IOException {
+            BuildResult result = new BuildResult().withEntityName(readString(input));
+            String path = readString(input);
+            if (path != null) {
+                result.withEntityPath(Paths.get(path));
+            }
+            result.withElapsedTimeMillis(input.readLong());
+            int phases = input.readInt();
+            for (int i = 0; i < phases; i++) {
+                result.withPhaseTimeMillis(BuildPhase.valueOf(readString(input)), input.readLong());
+            }
+            if (input.readBoolean()) {
+                List<BuildExceptionDetails> details = readDetails(input);
+                result.withException(readException(input, details));
+            }
+            return result;
+        }
+    }
+}
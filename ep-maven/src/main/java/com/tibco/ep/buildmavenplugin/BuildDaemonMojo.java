@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * <p>Run a build daemon hosting the code generation service.</p>
+ *
+ * <p>The daemon loads the build service of the product version once and
+ * keeps it warm across builds. It listens on a loopback port, published with
+ * an access token in ~/.m2/ep-build-daemon-<i>version</i>.properties, and
+ * runs until stopped with <b>stopDaemon</b> or interrupted.</p>
+ *
+ * <p>Builds use the daemon when <b>useBuildDaemon</b> is set, and fall back
+ * to a local build service when no daemon is running.</p>
+ *
+ * <p>Example use on commandline:</p>
+ * <pre>
+ *     mvn ep:build-daemon
+ *     mvn install -DuseBuildDaemon=true
+ *     mvn ep:build-daemon -DstopDaemon=true
+ * </pre>
+ */
+@Mojo(name = "build-daemon", threadSafe = false)
+public class BuildDaemonMojo extends BaseMojo {
+
+    /**
+     * <p>Port the daemon listens on, on the loopback interface.</p>
+     *
+     * <p>The default value of 0 uses any free port.</p>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "daemonPort", defaultValue = "0")
+    int daemonPort;
+
+    /**
+     * <p>Set this to 'true' to stop the running daemon instead of starting one.</p>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "stopDaemon", defaultValue = "false")
+    boolean stopDaemon;
+
+    public void execute() throws MojoExecutionException {
+        getLog().debug("Build daemon");
+
+        File daemonFile = getBuildDaemonFile();
+
+        if (stopDaemon) {
+            if (BuildDaemon.stop(daemonFile, getLog())) {
+                getLog().info("Build daemon stopped");
+            } else {
+                getLog().info("No build daemon running for product version " + getProductVersion());
+            }
+            return;
+        }
+
+        if (BuildDaemon.connect(daemonFile, getLog()) != null) {
+            throw new MojoExecutionException("A build daemon is already running for product version "
+                + getProductVersion() + ", see " + daemonFile);
+        }
+
+        //  The daemon itself uses a local build service.
+        //
+        useBuildDaemon = false;
+        initializeService(PlatformService.CODE_GENERATION, ErrorHandling.FAIL);
+
+        BuildDaemon daemon;
+        try {
+            daemon = new BuildDaemon(getBuildService(), daemonFile, daemonPort, getLog());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to start the build daemon: " + e.getMessage(), e);
+        }
+
+        Thread shutdown = new Thread(() -> {
+            try {
+                daemon.close();
+            } catch (IOException e) {
+                // exiting anyway
+            }
+        }, "ep-build-daemon-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdown);
+
+        getLog().info("Build daemon for product version " + getProductVersion()
+            + " listening on port " + daemon.getPort());
+
+        try {
+            daemon.run();
+        } finally {
+            try {
+                daemon.close();
+            } catch (IOException e) {
+                getLog().debug("Unable to close the build daemon", e);
+            }
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdown);
+            } catch (IllegalStateException e) {
+                // already shutting down
+            }
+        }
+        getLog().info("Build daemon stopped");
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.tibco.ep.sb.services.build.BuildExceptionDetails;
+import com.tibco.ep.sb.services.build.BuildParameters;
+
+/**
+ * Wire format shared by the build daemon and its clients.
+ * <p>
+ * A client sends the protocol version, the daemon token and a command. For
+ * a build, the daemon answers with the notifier events of the build,
+ * followed by an end or error event.
+ */
+final class BuildDaemonProtocol {
+
+    /**
+     * Protocol version
+     */
+    static final int VERSION = 5;
+
+    /**
+     * Run a build
+     */
+    static final byte COMMAND_BUILD = 1;
+    /**
+     * Stop the daemon
+     */
+    static final byte COMMAND_STOP = 2;
+    /**
+     * Check that the daemon is running
+     */
+    static final byte COMMAND_PING = 3;
+    /**
+     * Cancel the running build, sent by the client during a build
+     */
+    static final byte COMMAND_CANCEL = 4;
+
+    /**
+     * {@link com.tibco.ep.sb.services.build.IBuildNotifier#onBuildStarted(int)}
+     */
+    static final byte EVENT_BUILD_STARTED = 1;
+    /**
+     * {@link com.tibco.ep.sb.services.build.IBuildNotifier#onSkipped(String, String)}
+     */
+    static final byte EVENT_SKIPPED = 2;
+    /**
+     * {@link com.tibco.ep.sb.services.build.IBuildNotifier#onStarted(String, String)}
+     */
+    static final byte EVENT_STARTED = 3;
+    /**
+     * {@link com.tibco.ep.sb.services.build.IBuildNotifier#onWarning(String, String)}
+     */
+    static final byte EVENT_WARNING = 4;
+    /**
+     * {@link com.tibco.ep.sb.services.build.IBuildNotifier#onCompleted(com.tibco.ep.sb.services.build.BuildResult)}
+     */
+    static final byte EVENT_COMPLETED = 5;
+    /**
+     * {@link com.tibco.ep.sb.services.build.IBuildNotifier#onBuildCompleted()}
+     */
+    static final byte EVENT_BUILD_COMPLETED = 6;
+    /**
+     * The build call returned
+     */
+    static final byte EVENT_END = 7;
+    /**
+     * The build call failed
+     */
+    static final byte EVENT_ERROR = 8;
+
+    private BuildDaemonProtocol() {
+    }
+
+    /**
+     * Write a string, possibly null
+     *
+     * @param output The output
+     * @param value  The string
+     * @throws IOException Write failure
+     */
+    static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Read a string, possibly null
+     *
+     * @param input The input
+     * @return The string
+     * @throws IOException Read failure
+     */
+    static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write build parameters
+     *
+     * @param output     The output
+     * @param parameters The parameters
+     * @throws IOException Write failure
+     */
+    static void writeParameters(DataOutputStream output, BuildParameters parameters) throws IOException {
+        writePath(output, parameters.getProjectRootDirectory());
+        writePath(output, parameters.getBuildDirectory());
+        writePath(output, parameters.getConfigurationDirectory());
+        writePath(output, parameters.getTestConfigurationDirectory());
+        writePath(output, parameters.getProductHome());
+        writePath(output, parameters.getEngineDataArea());
+
+        writePaths(output, parameters.getProjectCompileClassPath());
+        writePaths(output, parameters.getDependenciesCompileClassPath());
+        writePaths(output, parameters.getProjectTestCompileClassPath());
+        writePaths(output, parameters.getDependenciesTestCompileClassPath());
+        writePaths(output, parameters.getSourcePaths());
+        writePaths(output, parameters.getTestSourcePaths());
+
+        Map<String, String> properties = parameters.getCompilerProperties();
+        output.writeInt(properties.size());
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            writeString(output, entry.getKey());
+            writeString(output, entry.getValue());
+        }
+
+        output.writeBoolean(parameters.isFullBuild());
+        output.writeInt(parameters.getParallelism());
+        writePaths(output, new ArrayList<>(parameters.getChangedModules()));
+        writePaths(output, new ArrayList<>(parameters.getRemovedModules()));
+    }
+
+    /**
+     * Read build parameters
+     *
+     * @param input The input
+     * @return The parameters
+     * @throws IOException Read failure
+     */
+    static BuildParameters readParameters(DataInputStream input) throws IOException {
+        BuildParameters parameters = new BuildParameters()
+            .withProjectRootDirectory(readPath(input))
+            .withBuildDirectory(readPath(input))
+            .withConfigurationDirectory(readPath(input))
+            .withTestConfigurationDirectory(readPath(input))
+            .withProductHome(readPath(input))
+            .withEngineDataArea(readPath(input));
+
+        //  The list getters are used, as they are the reference for what the
+        //  build service reads.
+        //
+        parameters.getProjectCompileClassPath().addAll(readPaths(input));
+        parameters.getDependenciesCompileClassPath().addAll(readPaths(input));
+        parameters.getProjectTestCompileClassPath().addAll(readPaths(input));
+        parameters.getDependenciesTestCompileClassPath().addAll(readPaths(input));
+        parameters.getSourcePaths().addAll(readPaths(input));
+        parameters.getTestSourcePaths().addAll(readPaths(input));
+
+        int count = input.readInt();
+        Map<String, String> properties = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            properties.put(readString(input), readString(input));
+        }
+        return parameters
+            .withCompilerProperties(properties)
+            .withFullBuild(input.readBoolean())
+            .withParallelism(input.readInt())
+            .withChangedModules(readPaths(input))
+            .withRemovedModules(readPaths(input));
+    }
+
+    /**
+     * Write exception details
+     *
+     * @param output  The output
+     * @param details The details
+     * @throws IOException Write failure
+     */
+    static void writeDetails(DataOutputStream output, List<BuildExceptionDetails> details) throws IOException {
+        output.writeInt(details.size());
+        for (BuildExceptionDetails detail : details) {
+            writeString(output, detail.getShortMessage());
+            writeString(output, detail.getLongDescription());
+            writeString(output, detail.getLocation());
+            writeString(output, detail.getFileLocation());
+        }
+    }
+
+    /**
+     * Read exception details
+     *
+     * @param input The input
+     * @return The details
+     * @throws IOException Read failure
+     */
+    static List<BuildExceptionDetails> readDetails(DataInputStream input) throws IOException {
+        int count = input.readInt();
+        List<BuildExceptionDetails> details = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            details.add(new BuildExceptionDetails()
+                .withShortMessage(readString(input))
+                .withLongDescription(readString(input))
+                .withLocation(readString(input))
+                .withFileLocation(readString(input)));
+        }
+        return details;
+    }
+
+    /**
+     * Write an exception and its causes, with the top frame of each
+     *
+     * @param output    The output
+     * @param exception The exception
+     * @throws IOException Write failure
+     */
+    static void writeException(DataOutputStream output, Throwable exception) throws IOException {
+        List<Throwable> causes = new ArrayList<>();
+        for (Throwable current = exception; current != null && !causes.contains(current); current = current.getCause()) {
+            causes.add(current);
+        }
+
+        output.writeInt(causes.size());
+        for (Throwable cause : causes) {
+            writeString(output, cause.toString());
+            StackTraceElement[] frames = cause.getStackTrace();
+            output.writeBoolean(frames.length > 0);
+            if (frames.length > 0) {
+                writeString(output, frames[0].getClassName());
+                writeString(output, frames[0].getMethodName());
+                writeString(output, frames[0].getFileName());
+                output.writeInt(frames[0].getLineNumber());
+            }
+        }
+    }
+
+    /**
+     * Read an exception written by {@link #writeException(DataOutputStream, Throwable)}
+     *
+     * @param input   The input
+     * @param details The details of the exception
+     * @return The exception
+     * @throws IOException Read failure
+     */
+    static RemoteBuildException readException(DataInputStream input, List<BuildExceptionDetails> details) throws IOException {
+        int count = input.readInt();
+        List<String> descriptions = new ArrayList<>();
+        List<StackTraceElement> frames = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            descriptions.add(readString(input));
+            frames.add(input.readBoolean()
+                ? new StackTraceElement(readString(input), readString(input), readString(input), input.readInt())
+                : null);
+        }
+
+        RemoteBuildException exception = null;
+        for (int i = count - 1; i >= 0; i--) {
+            exception = new RemoteBuildException(descriptions.get(i), exception, details, frames.get(i));
+        }
+        return exception != null ? exception : new RemoteBuildException("Unknown error", null, details, null);
+    }
+
+    private static void writePath(DataOutputStream output, Path path) throws IOException {
+        writeString(output, path == null ? null : path.toString());
+    }
+
+    private static Path readPath(DataInputStream input) throws IOException {
+        String path = readString(input);
+        return path == null ? null : Paths.get(path);
+    }
+
+    private static void writePaths(DataOutputStream output, List<Path> paths) throws IOException {
+        output.writeInt(paths.size());
+        for (Path path : paths) {
+            writePath(output, path);
+        }
+    }
+
+    private static List<Path> readPaths(DataInputStream input) throws IOException {
+        int count = input.readInt();
+        List<Path> paths = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            paths.add(readPath(input));
+        }
+        return paths;
+    }
+
+    /**
+     * A build failure reported by the daemon
+     */
+    static final class RemoteBuildException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String description;
+        private final transient List<BuildExceptionDetails> details;
+
+        private RemoteBuildException(String description, Throwable cause, List<BuildExceptionDetails> details, StackTraceElement frame) {
+            super(description, cause);
+            this.description = description;
+            this.details = details;
+            setStackTrace(new StackTraceElement[]{frame != null
+                ? frame : new StackTraceElement("build-daemon", "build", null, -1)});
+        }
+
+        /**
+         * @return The details computed by the daemon
+         */
+        List<BuildExceptionDetails> getDetails() {
+            return details;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+}
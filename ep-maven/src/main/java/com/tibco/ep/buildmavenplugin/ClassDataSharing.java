@@ -0,0 +1,348 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Class data sharing archive for test node JVMs.
+ * <p>
+ * The JVM refuses to archive classes loaded from a non-empty directory, and
+ * test classes always are, so the archive only covers the jar prefix of the
+ * classpath:
+ * <ul>
+ *     <li>the classpath is arranged with jars first and directories after them,
+ *     as long as no directory shadows an entry of a later jar</li>
+ *     <li>the first run of a deployment records the classes it loads with
+ *     -XX:DumpLoadedClassList</li>
+ *     <li>the next run dumps a static archive of the recorded JDK and jar classes
+ *     with the JVM running the build, and starts the node with
+ *     -XX:SharedArchiveFile</li>
+ * </ul>
+ * <p>
+ * Files are named after the deployment and a hash of the jar prefix, including
+ * the size and modification time of each jar, so that deployments with
+ * different classpaths keep their own archive. Dumping is serialized with a
+ * lock file. A node JVM that does not match the archive ignores it.
+ */
+final class ClassDataSharing {
+
+    private static final String ARCHIVE = ".jsa";
+    private static final String CLASS_LIST = ".classlist";
+    private static final String LOCK = ".lock";
+    private static final String LOG = ".log";
+    private static final String CLASS = ".class";
+    private static final String META_INF = "META-INF/";
+
+    private static final long STALE_LOCK_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long DUMP_TIMEOUT_MINUTES = 10;
+
+    private final File directory;
+    private final String name;
+
+    /**
+     * @param directory The directory holding the archives
+     * @param name      The deployment name
+     */
+    ClassDataSharing(File directory, String name) {
+        this.directory = directory;
+        this.name = name.replaceAll("[^A-Za-z0-9_.-]", "_");
+    }
+
+    /**
+     * Arrange a classpath with its jars first, keeping the relative order of
+     * jars and of directories
+     *
+     * @param elements The classpath elements
+     * @return The arranged elements, or null if a directory shadows an entry
+     * of a jar it would be moved after
+     * @throws IOException Unable to read a jar
+     */
+    static List<String> arrange(List<String> elements) throws IOException {
+        List<String> jars = new ArrayList<>();
+        List<String> directories = new ArrayList<>();
+        Set<String> shadowing = new HashSet<>();
+
+        for (String element : elements) {
+            File file = new File(element);
+            if (file.isFile()) {
+                if (!shadowing.isEmpty()) {
+                    try (ZipFile zipFile = new ZipFile(file)) {
+                        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+                        while (entries.hasMoreElements()) {
+                            ZipEntry entry = entries.nextElement();
+                            if (!entry.isDirectory() && shadowing.contains(entry.getName())) {
+                                return null;
+                            }
+                        }
+                    }
+                }
+                jars.add(element);
+            } else {
+                if (file.isDirectory()) {
+                    Path root = file.toPath();
+                    try (Stream<Path> paths = Files.walk(root)) {
+                        paths.filter(Files::isRegularFile)
+                            .map(path -> root.relativize(path).toString().replace(File.separatorChar, '/'))
+                            .filter(path -> !path.startsWith(META_INF))
+                            .forEach(shadowing::add);
+                    }
+                }
+                directories.add(element);
+            }
+        }
+
+        jars.addAll(directories);
+        return jars;
+    }
+
+    /**
+     * Get the archived part of an arranged classpath
+     *
+     * @param elements The arranged classpath elements
+     * @return The leading jars
+     */
+    static List<String> getArchivedElements(List<String> elements) {
+        List<String> archived = new ArrayList<>();
+        for (String element : elements) {
+            if (!new File(element).isFile()) {
+                break;
+            }
+            archived.add(element);
+        }
+        return archived;
+    }
+
+    /**
+     * Compute the key of the archived part of a classpath
+     *
+     * @param elements The classpath elements
+     * @return The key
+     */
+    static String key(List<String> elements) {
+        StringBuilder key = new StringBuilder();
+        for (String element : getArchivedElements(elements)) {
+            File file = new File(element);
+            key.append(element).append(':').append(file.length()).append(':').append(file.lastModified());
+            key.append(File.pathSeparatorChar);
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return String.format("%0" + (digest.length << 1) + "x", new BigInteger(1, digest));
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(key.toString().hashCode());
+        }
+    }
+
+    /**
+     * Get the archive of a classpath
+     *
+     * @param elements The arranged classpath elements
+     * @return The archive file, that may not exist yet
+     */
+    File getArchive(List<String> elements) {
+        return file(elements, ARCHIVE);
+    }
+
+    /**
+     * Get the class list of a classpath
+     *
+     * @param elements The arranged classpath elements
+     * @return The class list file, that may not exist yet
+     */
+    File getClassList(List<String> elements) {
+        return file(elements, CLASS_LIST);
+    }
+
+    /**
+     * Get the JVM option using, creating or preparing the archive of a classpath.
+     * <p>
+     * Files of the same deployment for other classpaths are removed when a new
+     * class list is to be recorded.
+     *
+     * @param elements The arranged classpath elements
+     * @return The JVM option, or null while the class list or archive is
+     * being written by another run, or if the archive could not be dumped
+     * @throws IOException Unable to dump the archive
+     */
+    String getOption(List<String> elements) throws IOException {
+        File archive = getArchive(elements);
+        File classList = getClassList(elements);
+
+        File log = file(elements, LOG);
+
+        if (!archive.isFile() && !log.exists() && classList.isFile() && classList.length() > 0) {
+            File lock = file(elements, LOCK);
+            if (!acquire(lock)) {
+                return null;
+            }
+            try {
+                if (!archive.isFile()) {
+                    dump(elements, classList, archive, log);
+                }
+            } finally {
+                Files.deleteIfExists(lock.toPath());
+            }
+        }
+
+        if (archive.isFile() && archive.length() > 0) {
+            return "-XX:SharedArchiveFile=" + archive.getAbsolutePath();
+        }
+        if (classList.length() > 0) {
+            // being recorded, or the dump failed as reported in the log
+            //
+            return null;
+        }
+
+        String current = name + "-" + key(elements) + ".";
+        String pattern = Pattern.quote(name) + "-[0-9a-f]+\\..*";
+        File[] stale = directory.listFiles((dir, file) -> file.matches(pattern) && !file.startsWith(current));
+        if (stale != null) {
+            for (File file : stale) {
+                if (!file.delete()) {
+                    file.deleteOnExit();
+                }
+            }
+        }
+        Files.createDirectories(directory.toPath());
+        return "-XX:DumpLoadedClassList=" + classList.getAbsolutePath();
+    }
+
+    private File file(List<String> elements, String suffix) {
+        return new File(directory, name + "-" + key(elements) + suffix);
+    }
+
+    private static boolean acquire(File lock) throws IOException {
+        if (lock.createNewFile()) {
+            return true;
+        }
+        if (System.currentTimeMillis() - lock.lastModified() > STALE_LOCK_MILLIS && lock.delete()) {
+            return lock.createNewFile();
+        }
+        return false;
+    }
+
+    /**
+     * Dump a static archive of the recorded classes found in the JDK or in the
+     * archived jars.
+     * <p>
+     * Several node JVMs may have written the class list concurrently, so only
+     * well-formed class names are kept.
+     */
+    private static void dump(List<String> elements, File classList, File archive, File log) throws IOException {
+        List<String> archived = getArchivedElements(elements);
+
+        Set<String> jarClasses = new HashSet<>();
+        for (String element : archived) {
+            try (ZipFile zipFile = new ZipFile(element)) {
+                Enumeration<? extends ZipEntry> entries = zipFile.entries();
+                while (entries.hasMoreElements()) {
+                    String entry = entries.nextElement().getName();
+                    if (entry.endsWith(CLASS)) {
+                        jarClasses.add(entry.substring(0, entry.length() - CLASS.length()));
+                    }
+                }
+            }
+        }
+
+        Path filtered = Files.createTempFile(archive.getParentFile().toPath(), archive.getName(), CLASS_LIST);
+        Path temporary = Paths.get(archive.getPath() + ".tmp");
+        try {
+            ClassLoader platform = ClassLoader.getPlatformClassLoader();
+            Set<String> classes = new HashSet<>();
+            try (BufferedReader reader = Files.newBufferedReader(classList.toPath(), StandardCharsets.UTF_8);
+                 PrintWriter writer = new PrintWriter(Files.newBufferedWriter(filtered, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String className = line.split(" ", 2)[0];
+                    if (className.matches("[\\w$]+(/[\\w$]+)*")
+                        && (jarClasses.contains(className) || platform.getResource(className + CLASS) != null)
+                        && classes.add(className)) {
+                        writer.println(className);
+                    }
+                }
+            }
+
+            List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            command.add("-Xshare:dump");
+            command.add("-XX:SharedClassListFile=" + filtered);
+            command.add("-XX:SharedArchiveFile=" + temporary);
+            if (!archived.isEmpty()) {
+                command.add("-cp");
+                command.add(String.join(File.pathSeparator, archived));
+            }
+
+            Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+            try {
+                if (!process.waitFor(DUMP_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+                    process.destroyForcibly();
+                    return;
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (process.exitValue() == 0 && Files.isRegularFile(temporary)) {
+                Files.move(temporary, archive.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } finally {
+            Files.deleteIfExists(filtered);
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Dependency graphs of the projects of a Maven session.
+ * <p>
+ * Graphs are keyed by the project coordinates and its declared and managed
+ * dependencies, so a project whose dependencies are changed by a plugin gets
+ * a new graph. Concurrent requests for the same graph build it once.
+ */
+final class DependencyGraphCache {
+
+    private final Map<String, CompletableFuture<DependencyNode>> graphs = new ConcurrentHashMap<>();
+
+    /**
+     * Builds a dependency graph
+     */
+    interface Builder {
+        /**
+         * @return The root node of the graph
+         * @throws DependencyGraphBuilderException The graph could not be built
+         */
+        DependencyNode build() throws DependencyGraphBuilderException;
+    }
+
+    /**
+     * Get the graph cache of a session
+     *
+     * @param session The session, may be null
+     * @return The cache, a new instance if there is no session
+     */
+    static DependencyGraphCache get(MavenSession session) {
+        return SessionRegistry.get(session, DependencyGraphCache.class, DependencyGraphCache::new);
+    }
+
+    /**
+     * Get the dependency graph of a project, building it if needed
+     *
+     * @param project The project
+     * @param builder Builds the graph
+     * @return The root node of the graph
+     * @throws DependencyGraphBuilderException The graph could not be built
+     */
+    DependencyNode get(MavenProject project, Builder builder) throws DependencyGraphBuilderException {
+        String key = SessionRegistry.projectKey(project);
+
+        CompletableFuture<DependencyNode> future = new CompletableFuture<>();
+        CompletableFuture<DependencyNode> existing = graphs.putIfAbsent(key, future);
+        if (existing == null) {
+            try {
+                future.complete(builder.build());
+            } catch (DependencyGraphBuilderException | RuntimeException | Error e) {
+
+                //  Don't keep failures, a later request tries again.
+                //
+                graphs.remove(key, future);
+                future.completeExceptionally(e);
+                throw e;
+            }
+            return future.join();
+        }
+
+        try {
+            return existing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DependencyGraphBuilderException("Interrupted while building the dependency graph of " + project.getId(), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DependencyGraphBuilderException) {
+                throw (DependencyGraphBuilderException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new DependencyGraphBuilderException(cause.getMessage(), (Exception) cause);
+        }
+    }
+}
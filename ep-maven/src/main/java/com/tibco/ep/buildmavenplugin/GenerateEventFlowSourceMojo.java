@@ -65,7 +65,7 @@ import static org.apache.maven.plugins.annotations.LifecyclePhase.GENERATE_SOURC
  * the default *target* directory will force a rebuild on the next call.</p>
  *
  */
-@Mojo(name = "generate-main-eventflow", defaultPhase = GENERATE_SOURCES, threadSafe = false)
+@Mojo(name = "generate-main-eventflow", defaultPhase = GENERATE_SOURCES, threadSafe = true)
 public class GenerateEventFlowSourceMojo extends BaseGenerateMojo {
 
     /**
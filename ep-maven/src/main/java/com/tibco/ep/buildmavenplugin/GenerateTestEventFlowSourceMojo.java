@@ -49,7 +49,7 @@ import static org.apache.maven.plugins.annotations.LifecyclePhase.GENERATE_TEST_
  * scanned directories).</p>
  *
  */
-@Mojo(name = "generate-test-eventflow", defaultPhase = GENERATE_TEST_SOURCES, threadSafe = false)
+@Mojo(name = "generate-test-eventflow", defaultPhase = GENERATE_TEST_SOURCES, threadSafe = true)
 public class GenerateTestEventFlowSourceMojo extends BaseGenerateMojo {
 
     /**
@@ -0,0 +1,308 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Compile generated java sources in the background, while the generation of
+ * other modules goes on, to report compilation errors early.
+ * <p>
+ * Each compilation pass compiles the sources added or changed since the
+ * previous pass, with the generated source directory and the project source
+ * directories on the source path, so that references to sources not compiled
+ * yet are resolved. Passes run one at a time on a single thread, reusing the
+ * same file manager, and requests arriving during a pass are merged into the
+ * next one.
+ * <p>
+ * When a pass fails, the sources with errors are left out and the others
+ * compiled again, so that only the failing sources are tried again on the
+ * next pass - a source they depend on may not have been generated yet.
+ * <p>
+ * The final pass, compiling all the remaining sources, also runs in the
+ * background: the build goes on meanwhile, and its errors are reported when
+ * it completes.
+ */
+final class GeneratedSourceCompiler implements Closeable {
+
+    private final JavaCompiler compiler;
+    private final StandardJavaFileManager fileManager;
+    private final Path sources;
+    private final List<String> options;
+    private final Log log;
+    private final ExecutorService executor;
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private final Map<Path, Long> compiled = new HashMap<>();
+    private final List<String> errors = new ArrayList<>();
+    private int compiledCount;
+
+    /**
+     * @param compiler   The compiler
+     * @param sources    The generated source directory
+     * @param output     The class output directory, a scratch directory the
+     *                   compiler plugin does not use
+     * @param classPath  The class path
+     * @param sourcePath The other source directories
+     * @param options    Other compiler options (release, encoding, ...)
+     * @param log        The log
+     * @throws IOException Unable to scan the generated sources
+     */
+    GeneratedSourceCompiler(JavaCompiler compiler, Path sources, Path output, List<Path> classPath,
+        List<Path> sourcePath, List<String> options, Log log) throws IOException {
+        this.compiler = compiler;
+        this.fileManager = compiler.getStandardFileManager(null, Locale.ROOT, StandardCharsets.UTF_8);
+        this.sources = sources;
+        this.log = log;
+
+        List<Path> allSources = new ArrayList<>();
+        allSources.add(sources);
+        allSources.addAll(sourcePath);
+
+        this.options = new ArrayList<>(options);
+        this.options.add("-d");
+        this.options.add(output.toString());
+        this.options.add("-classpath");
+        this.options.add(join(classPath));
+        this.options.add("-sourcepath");
+        this.options.add(join(allSources));
+        this.options.add("-implicit:none");
+        this.options.add("-nowarn");
+        this.options.add("-Xmaxerrs");
+        this.options.add(String.valueOf(Integer.MAX_VALUE));
+
+        Files.createDirectories(output);
+
+        //  Sources present before the generation are compiled by the
+        //  compiler plugin, as usual.
+        //
+        this.compiled.putAll(scan());
+
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ep-compile");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Request a compilation pass for the sources generated since the previous one
+     */
+    void submit() {
+        if (pending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                pending.set(false);
+                pass(false);
+            });
+        }
+    }
+
+    /**
+     * Request a final pass compiling the remaining sources, once the requested
+     * passes are done, without waiting for it
+     *
+     * @return The result of the final pass, true if all the generated sources compiled
+     */
+    CompletableFuture<Boolean> finish() {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            synchronized (this) {
+                errors.clear();
+            }
+            try {
+                pass(true);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    errors.add(String.valueOf(e));
+                }
+            }
+            boolean compiledAll;
+            synchronized (this) {
+                compiledAll = errors.isEmpty();
+            }
+            result.complete(compiledAll);
+        });
+        return result;
+    }
+
+    /**
+     * @return The number of sources compiled
+     */
+    synchronized int getCompiledCount() {
+        return compiledCount;
+    }
+
+    /**
+     * @return The errors of the final pass
+     */
+    synchronized List<String> getErrors() {
+        return new ArrayList<>(errors);
+    }
+
+    /**
+     * Release the compiler once the requested passes are done, without
+     * waiting for them
+     */
+    @Override
+    public synchronized void close() {
+        if (executor.isShutdown()) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                fileManager.close();
+            } catch (IOException e) {
+                log.debug("Unable to close the compiler: " + e.getMessage());
+            }
+        });
+        executor.shutdown();
+    }
+
+    private void pass(boolean last) {
+        Map<Path, Long> changed = new HashMap<>();
+        try {
+            scan().forEach((path, modified) -> {
+                if (!modified.equals(compiled.get(path))) {
+                    changed.put(path, modified);
+                }
+            });
+        } catch (IOException e) {
+            log.debug("Unable to scan " + sources + ": " + e.getMessage());
+            return;
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        List<Path> remaining = changed.keySet().stream().sorted().collect(Collectors.toList());
+        List<String> messages = null;
+        while (!remaining.isEmpty()) {
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+            StringWriter output = new StringWriter();
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(
+                remaining.stream().map(Path::toFile).collect(Collectors.toList()));
+
+            if (compiler.getTask(output, fileManager, diagnostics, options, null, units).call()) {
+                remaining.forEach(path -> compiled.put(path, changed.get(path)));
+                synchronized (this) {
+                    compiledCount += remaining.size();
+                }
+                log.debug("Compiled " + remaining.size() + " generated source" + (remaining.size() == 1 ? "" : "s"));
+                break;
+            }
+
+            List<Diagnostic<? extends JavaFileObject>> failures = diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .collect(Collectors.toList());
+            if (messages == null) {
+                messages = failures.stream()
+                    .map(diagnostic -> (diagnostic.getSource() == null ? "" : diagnostic.getSource().getName()
+                        + ":" + diagnostic.getLineNumber() + ": ") + diagnostic.getMessage(Locale.ROOT))
+                    .collect(Collectors.toList());
+                if (messages.isEmpty()) {
+                    messages.add(output.toString());
+                }
+            }
+
+            //  Compile again without the sources in error.
+            //
+            Set<Path> failed = failures.stream()
+                .filter(diagnostic -> diagnostic.getSource() != null)
+                .map(diagnostic -> Paths.get(diagnostic.getSource().toUri()).toAbsolutePath().normalize())
+                .collect(Collectors.toSet());
+            List<Path> others = remaining.stream()
+                .filter(path -> !failed.contains(path.toAbsolutePath().normalize()))
+                .collect(Collectors.toList());
+            if (others.size() == remaining.size()) {
+                break;
+            }
+            remaining = others;
+        }
+
+        if (messages == null) {
+            return;
+        }
+        if (last) {
+            synchronized (this) {
+                errors.addAll(messages);
+            }
+        } else {
+            log.debug("Generated sources did not compile yet: " + messages);
+        }
+    }
+
+    private Map<Path, Long> scan() throws IOException {
+        Map<Path, Long> files = new HashMap<>();
+        if (!Files.isDirectory(sources)) {
+            return files;
+        }
+
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(sources)) {
+            paths = walk.filter(path -> path.toString().endsWith(".java") && Files.isRegularFile(path))
+                .collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            files.put(path, Files.getLastModifiedTime(path).toMillis());
+        }
+        return files;
+    }
+
+    private static String join(List<Path> paths) {
+        return paths.stream().map(Path::toString).collect(Collectors.joining(File.pathSeparator));
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A content-addressed cache of generated EventFlow sources.
+ * <p>
+ * Each entry holds the generated source directory and the module data file
+ * of one generation, keyed by a hash of the generation inputs computed from
+ * their content only, so that the same sources in another checkout, or on
+ * another machine sharing the cache directory, find the entry.
+ * <p>
+ * Several processes can use the cache concurrently: entries are written to a
+ * temporary directory and then atomically moved in place, and an entry is
+ * never modified once published.
+ */
+final class GenerationCache {
+
+    private static final String SOURCES = "sources";
+    private static final String MODULES = "modules";
+
+    private final Path directory;
+
+    /**
+     * @param directory The cache directory
+     */
+    GenerationCache(File directory) {
+        this.directory = directory.getAbsoluteFile().toPath();
+    }
+
+    /**
+     * Describe a class path element by its content.
+     * <p>
+     * Released artifacts of the local repository are described by their path
+     * in the repository, other files and directories by a hash of their content.
+     *
+     * @param path            The class path element
+     * @param localRepository The local repository directory
+     * @return The description
+     * @throws IOException Unable to read the element
+     */
+    static String describe(Path path, Path localRepository) throws IOException {
+        Path absolute = path.toAbsolutePath();
+        Path repository = localRepository.toAbsolutePath();
+
+        if (absolute.startsWith(repository) && !absolute.toString().contains("SNAPSHOT")) {
+            return separators(repository.relativize(absolute));
+        }
+        if (Files.isRegularFile(absolute)) {
+            return absolute.getFileName() + ":" + GenerationState.contentHash(absolute);
+        }
+        if (!Files.isDirectory(absolute)) {
+            return absolute.getFileName().toString();
+        }
+
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(absolute)) {
+            files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        List<String> lines = new ArrayList<>();
+        for (Path file : files) {
+            lines.add(separators(absolute.relativize(file)) + ":" + GenerationState.contentHash(file));
+        }
+        return "directory:" + GenerationState.hash(lines.stream());
+    }
+
+    /**
+     * Restore an entry
+     *
+     * @param key     The entry key
+     * @param sources The generated source directory, replaced by the cached one
+     * @param modules The module data file, or null if none is needed
+     * @return True if the entry was found and restored
+     * @throws IOException Unable to restore the entry
+     */
+    boolean restore(String key, Path sources, Path modules) throws IOException {
+        Path entry = entry(key);
+        if (!Files.isDirectory(entry) || (modules != null && !Files.isRegularFile(entry.resolve(MODULES)))) {
+            return false;
+        }
+
+        delete(sources);
+        copy(entry.resolve(SOURCES), sources);
+        if (modules != null) {
+            Files.createDirectories(modules.toAbsolutePath().getParent());
+            Files.copy(entry.resolve(MODULES), modules, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return true;
+    }
+
+    /**
+     * Add an entry, unless it already exists
+     *
+     * @param key     The entry key
+     * @param sources The generated source directory
+     * @param modules The module data file, or null if there is none
+     * @throws IOException Unable to write the entry
+     */
+    void store(String key, Path sources, Path modules) throws IOException {
+        Path entry = entry(key);
+        if (Files.isDirectory(entry)) {
+            return;
+        }
+
+        Files.createDirectories(entry.getParent());
+        Path temporary = entry.resolveSibling("." + UUID.randomUUID() + ".tmp");
+        try {
+            copy(sources, temporary.resolve(SOURCES));
+            if (modules != null) {
+                Files.copy(modules, temporary.resolve(MODULES));
+            }
+            Files.move(temporary, entry, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+            //  Stored concurrently, same content.
+        } finally {
+            delete(temporary);
+        }
+    }
+
+    private Path entry(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private static void copy(Path source, Path target) throws IOException {
+        Files.createDirectories(target);
+        if (!Files.isDirectory(source)) {
+            return;
+        }
+
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(source)) {
+            paths = walk.sorted().collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            Path copy = target.resolve(source.relativize(path).toString());
+            if (Files.isDirectory(path)) {
+                Files.createDirectories(copy);
+            } else {
+                Files.copy(path, copy, StandardCopyOption.COPY_ATTRIBUTES);
+            }
+        }
+    }
+
+    private static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(path)) {
+            paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path file : paths) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static String separators(Path path) {
+        return path.toString().replace(File.separatorChar, '/');
+    }
+}
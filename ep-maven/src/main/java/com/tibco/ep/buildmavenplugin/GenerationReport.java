@@ -0,0 +1,271 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.tibco.ep.sb.services.build.BuildPhase;
+import com.tibco.ep.sb.services.build.BuildResult;
+
+/**
+ * Timings of a code generation, written as JSON and CSV reports and
+ * summarized in the build log.
+ * <p>
+ * Results can be added concurrently, as modules built in parallel complete.
+ */
+final class GenerationReport {
+
+    private final List<BuildResult> results = new ArrayList<>();
+    private int skipped;
+    private long wallTimeMillis;
+
+    /**
+     * Add a module result
+     *
+     * @param result The result
+     */
+    synchronized void add(BuildResult result) {
+        results.add(result);
+    }
+
+    /**
+     * Count a skipped module
+     */
+    synchronized void skipped() {
+        skipped++;
+    }
+
+    /**
+     * @param wallTimeMillis The elapsed time of the whole generation
+     */
+    synchronized void setWallTimeMillis(long wallTimeMillis) {
+        this.wallTimeMillis = wallTimeMillis;
+    }
+
+    /**
+     * @return The sum of the module times
+     */
+    synchronized long getTotalMillis() {
+        return results.stream().mapToLong(BuildResult::getElapsedTimeMillis).sum();
+    }
+
+    /**
+     * @return The sum of the module times for each reported phase
+     */
+    synchronized Map<BuildPhase, Long> getPhaseTotalsMillis() {
+        Map<BuildPhase, Long> totals = new EnumMap<>(BuildPhase.class);
+        for (BuildResult result : results) {
+            result.getPhaseTimesMillis().forEach((phase, time) -> totals.merge(phase, time, Long::sum));
+        }
+        return totals;
+    }
+
+    /**
+     * @param count The maximum number of results
+     * @return The slowest modules, slowest first
+     */
+    synchronized List<BuildResult> getSlowest(int count) {
+        return sorted().stream().limit(Math.max(0, count)).collect(Collectors.toList());
+    }
+
+    /**
+     * Build the summary for the log
+     *
+     * @param slowest The number of slowest modules to list
+     * @return The summary lines
+     */
+    synchronized List<String> getSummary(int slowest) {
+        List<String> lines = new ArrayList<>();
+        long failed = results.stream().filter(result -> result.getException().isPresent()).count();
+
+        lines.add("EventFlow code generation: " + results.size() + " module" + (results.size() == 1 ? "" : "s")
+            + " built" + (failed > 0 ? " (" + failed + " failed)" : "") + ", " + skipped + " skipped, in "
+            + seconds(wallTimeMillis) + " (" + seconds(getTotalMillis()) + " total module time)");
+
+        Map<BuildPhase, Long> phases = getPhaseTotalsMillis();
+        if (!phases.isEmpty()) {
+            lines.add("  Phases: " + phases(phases));
+        }
+
+        List<BuildResult> slowestResults = getSlowest(slowest);
+        if (!slowestResults.isEmpty()) {
+            lines.add("  Slowest modules:");
+            for (BuildResult result : slowestResults) {
+                lines.add("    " + seconds(result.getElapsedTimeMillis()) + "  " + result.getEntityName()
+                    + (result.getPhaseTimesMillis().isEmpty() ? "" : " (" + phases(result.getPhaseTimesMillis()) + ")"));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Write the reports
+     *
+     * @param json    The JSON report
+     * @param csv     The CSV report
+     * @param slowest The number of slowest modules ranked in the JSON report
+     * @throws IOException Unable to write a report
+     */
+    synchronized void write(File json, File csv, int slowest) throws IOException {
+        write(json.toPath(), toJson(slowest));
+        write(csv.toPath(), toCsv());
+    }
+
+    /**
+     * @param slowest The number of slowest modules ranked
+     * @return The JSON report
+     */
+    synchronized String toJson(int slowest) {
+        StringWriter buffer = new StringWriter();
+        PrintWriter writer = new PrintWriter(buffer);
+
+        writer.println("{");
+        writer.println("  \"modules\": " + results.size() + ",");
+        writer.println("  \"failed\": " + results.stream().filter(result -> result.getException().isPresent()).count() + ",");
+        writer.println("  \"skipped\": " + skipped + ",");
+        writer.println("  \"wallTimeMillis\": " + wallTimeMillis + ",");
+        writer.println("  \"totalTimeMillis\": " + getTotalMillis() + ",");
+        writer.println("  \"phaseTotalsMillis\": " + toJson(getPhaseTotalsMillis()) + ",");
+        writer.println("  \"slowest\": [" + getSlowest(slowest).stream()
+            .map(result -> quote(result.getEntityName()))
+            .collect(Collectors.joining(", ")) + "],");
+        writer.println("  \"results\": [");
+
+        List<BuildResult> sorted = sorted();
+        for (int i = 0; i < sorted.size(); i++) {
+            BuildResult result = sorted.get(i);
+            writer.println("    {\"name\": " + quote(result.getEntityName())
+                + ", \"path\": " + quote(result.getEntityPath() == null ? null : result.getEntityPath().toString())
+                + ", \"elapsedTimeMillis\": " + result.getElapsedTimeMillis()
+                + ", \"failed\": " + result.getException().isPresent()
+                + ", \"phasesMillis\": " + toJson(result.getPhaseTimesMillis())
+                + "}" + (i < sorted.size() - 1 ? "," : ""));
+        }
+
+        writer.println("  ]");
+        writer.println("}");
+        writer.flush();
+        return buffer.toString();
+    }
+
+    /**
+     * @return The CSV report, one line per module, slowest first
+     */
+    synchronized String toCsv() {
+        StringBuilder csv = new StringBuilder("name,path,elapsedTimeMillis,failed");
+        for (BuildPhase phase : BuildPhase.values()) {
+            csv.append(',').append(phase.name().toLowerCase(Locale.ROOT)).append("Millis");
+        }
+        csv.append('\n');
+
+        for (BuildResult result : sorted()) {
+            csv.append(csvValue(result.getEntityName()))
+                .append(',').append(csvValue(result.getEntityPath() == null ? "" : result.getEntityPath().toString()))
+                .append(',').append(result.getElapsedTimeMillis())
+                .append(',').append(result.getException().isPresent());
+            for (BuildPhase phase : BuildPhase.values()) {
+                Long time = result.getPhaseTimesMillis().get(phase);
+                csv.append(',').append(time == null ? "" : time.toString());
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    private List<BuildResult> sorted() {
+        List<BuildResult> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparingLong(BuildResult::getElapsedTimeMillis).reversed()
+            .thenComparing(result -> String.valueOf(result.getEntityName())));
+        return sorted;
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String toJson(Map<BuildPhase, Long> phases) {
+        return phases.entrySet().stream()
+            .map(entry -> quote(entry.getKey().name().toLowerCase(Locale.ROOT)) + ": " + entry.getValue())
+            .collect(Collectors.joining(", ", "{", "}"));
+    }
+
+    private static String phases(Map<BuildPhase, Long> phases) {
+        return phases.entrySet().stream()
+            .map(entry -> entry.getKey().name().toLowerCase(Locale.ROOT) + " " + seconds(entry.getValue()))
+            .collect(Collectors.joining(", "));
+    }
+
+    private static String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.3f s", millis / 1000.0);
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Inputs of the previous code generation, saved in the build directory.
+ * <p>
+ * The state records a hash of the generation inputs (compiler properties,
+ * class paths, ...) and the size, modification time and content hash of each
+ * file under the source and configuration directories. Comparing it with the
+ * current files gives the EventFlow modules added, changed or removed since
+ * the previous generation. Any other change needs a full generation.
+ * <p>
+ * Content hashes are only computed again for files whose size or
+ * modification time changed.
+ */
+final class GenerationState {
+
+    private static final String INPUTS = "inputs";
+    private static final String FILE_PREFIX = "file@";
+    private static final Set<String> MODULE_EXTENSIONS = Set.of(".sbapp", ".sbint");
+
+    private final File stateFile;
+    private final Map<String, String> files = new TreeMap<>();
+    private String inputs;
+
+    /**
+     * Changes since the previous generation
+     */
+    static final class Changes {
+
+        private final boolean full;
+        private final Set<Path> changed;
+        private final Set<Path> removed;
+
+        private Changes(boolean full, Set<Path> changed, Set<Path> removed) {
+            this.full = full;
+            this.changed = changed;
+            this.removed = removed;
+        }
+
+        /**
+         * @return True if all the modules must be generated
+         */
+        boolean isFull() {
+            return full;
+        }
+
+        /**
+         * @return True if nothing changed
+         */
+        boolean isEmpty() {
+            return !full && changed.isEmpty() && removed.isEmpty();
+        }
+
+        /**
+         * @return The module files added or changed
+         */
+        Set<Path> getChanged() {
+            return changed;
+        }
+
+        /**
+         * @return The module files removed
+         */
+        Set<Path> getRemoved() {
+            return removed;
+        }
+    }
+
+    /**
+     * @param stateFile The file holding the state
+     */
+    GenerationState(File stateFile) {
+        this.stateFile = stateFile;
+    }
+
+    /**
+     * Compute a hash of the generation inputs
+     *
+     * @param values The inputs, files being replaced by their path, size and
+     *               modification time, and directories by their path and those
+     *               of the files they hold
+     * @return The hash
+     * @throws IOException Unable to scan a directory
+     */
+    static String hash(Stream<?> values) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (Object value : values.collect(Collectors.toList())) {
+            if (value instanceof Path) {
+                File file = ((Path) value).toFile();
+                if (file.isFile()) {
+                    lines.add(file + ":" + file.length() + ":" + file.lastModified());
+                } else if (file.isDirectory()) {
+                    lines.add(file + ":" + describe(file.toPath()));
+                } else {
+                    lines.add(file.toString());
+                }
+            } else {
+                lines.add(String.valueOf(value));
+            }
+        }
+        return digestOf(lines);
+    }
+
+    private static String digestOf(List<String> lines) {
+        return hex(digest().digest(String.join("\n", lines).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // the relative path, size and modification time of the files of a directory
+    //
+    private static String describe(Path directory) throws IOException {
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            paths = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        MessageDigest digest = digest();
+        for (Path path : paths) {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            digest.update((directory.relativize(path) + ":" + attributes.size() + ":"
+                + attributes.lastModifiedTime().toMillis() + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return hex(digest.digest());
+    }
+
+    /**
+     * Scan the current files, and compare them with the saved state.
+     * <p>
+     * The scanned state replaces the saved state on {@link #save()}.
+     *
+     * @param inputs The hash of the generation inputs
+     * @param roots  The source and configuration directories
+     * @return The changes since the saved state
+     * @throws IOException Unable to scan the files
+     */
+    Changes update(String inputs, List<Path> roots) throws IOException {
+        Properties previous = load();
+        this.inputs = inputs;
+        files.clear();
+
+        for (Path root : roots) {
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            List<Path> paths;
+            try (Stream<Path> walk = Files.walk(root)) {
+                paths = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            for (Path path : paths) {
+                String key = FILE_PREFIX + path.toAbsolutePath();
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                String stamp = attributes.size() + ":" + attributes.lastModifiedTime().toMillis() + ":";
+
+                String saved = previous.getProperty(key);
+                files.put(key, saved != null && saved.startsWith(stamp) ? saved : stamp + contentHash(path));
+            }
+        }
+
+        if (!inputs.equals(previous.getProperty(INPUTS))) {
+            return new Changes(true, modules(files.keySet()), Collections.emptySet());
+        }
+
+        Set<String> changed = new LinkedHashSet<>();
+        for (Map.Entry<String, String> entry : files.entrySet()) {
+            String saved = previous.getProperty(entry.getKey());
+            if (saved == null || !hashOf(saved).equals(hashOf(entry.getValue()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        Set<String> removed = previous.stringPropertyNames().stream()
+            .filter(key -> key.startsWith(FILE_PREFIX) && !files.containsKey(key))
+            .sorted()
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        //  Only module changes can be generated incrementally.
+        //
+        if (Stream.concat(changed.stream(), removed.stream()).anyMatch(key -> !isModule(key))) {
+            return new Changes(true, modules(files.keySet()), Collections.emptySet());
+        }
+        return new Changes(false, modules(changed), modules(removed));
+    }
+
+    /**
+     * Compute a hash of the content of the scanned files, which does not
+     * depend on where the roots are
+     *
+     * @param roots The roots given to {@link #update(String, List)}
+     * @return The hash
+     */
+    String getSourcesHash(List<Path> roots) {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, String> entry : files.entrySet()) {
+            Path path = new File(entry.getKey().substring(FILE_PREFIX.length())).toPath();
+            for (int i = 0; i < roots.size(); i++) {
+                Path root = roots.get(i).toAbsolutePath();
+                if (path.startsWith(root)) {
+                    lines.add(i + ":" + root.relativize(path).toString().replace(File.separatorChar, '/')
+                        + ":" + hashOf(entry.getValue()));
+                    break;
+                }
+            }
+        }
+        return digestOf(lines);
+    }
+
+    /**
+     * Mark modules of the scanned state as changed, so that the next
+     * generation includes them - eg modules that failed to generate.
+     * <p>
+     * Modules no longer scanned are reported as removed again.
+     *
+     * @param modules The module files
+     */
+    void markChanged(Set<Path> modules) {
+        for (Path module : modules) {
+            files.put(FILE_PREFIX + module.toAbsolutePath(), "0:0:");
+        }
+    }
+
+    /**
+     * Save the scanned state
+     *
+     * @throws IOException Unable to write the file
+     */
+    void save() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(INPUTS, inputs);
+        properties.putAll(files);
+
+        Path path = stateFile.toPath().toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Path temporary = Files.createTempFile(path.getParent(), stateFile.getName(), ".tmp");
+        try {
+            try (OutputStream output = Files.newOutputStream(temporary)) {
+                properties.store(output, null);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Remove the saved state, so that the next generation is a full one
+     *
+     * @throws IOException Unable to remove the file
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(stateFile.toPath());
+    }
+
+    private Properties load() {
+        Properties properties = new Properties();
+        if (stateFile.isFile()) {
+            try (InputStream input = Files.newInputStream(stateFile.toPath())) {
+                properties.load(input);
+            } catch (IOException | IllegalArgumentException e) {
+                properties.clear();
+            }
+        }
+        return properties;
+    }
+
+    private static boolean isModule(String key) {
+        int dot = key.lastIndexOf('.');
+        return dot > 0 && MODULE_EXTENSIONS.contains(key.substring(dot));
+    }
+
+    private static Set<Path> modules(Set<String> keys) {
+        return keys.stream()
+            .filter(GenerationState::isModule)
+            .map(key -> new File(key.substring(FILE_PREFIX.length())).toPath())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static String hashOf(String value) {
+        return value.substring(value.lastIndexOf(':') + 1);
+    }
+
+    /**
+     * @param path The file
+     * @return A hash of the file content
+     * @throws IOException Unable to read the file
+     */
+    static String contentHash(Path path) throws IOException {
+        MessageDigest digest = digest();
+        try (InputStream input = new DigestInputStream(Files.newInputStream(path), digest)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+        return hex(digest.digest());
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] digest) {
+        return String.format("%0" + (digest.length << 1) + "x", new BigInteger(1, digest));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The list of files installed from a product archive.
+ * <p>
+ * Each file is recorded with its size, CRC and mode as found in the zip
+ * central directory. This is stored next to the installation marker, and used
+ * to only rewrite the entries that changed when a newer archive is installed.
+ * <p>
+ * The file format is one line per entry: <code>crc size mode name</code>.
+ */
+final class InstallManifest {
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * Add an archive entry
+     *
+     * @param entry The zip entry
+     */
+    void add(ZipArchiveEntry entry) {
+        entries.put(entry.getName(),
+            new Entry(entry.getCrc(), entry.getSize(), entry.getUnixMode()));
+    }
+
+    /**
+     * @param entry The zip entry
+     * @return True if the entry is recorded with the same size, CRC and mode
+     */
+    boolean contains(ZipArchiveEntry entry) {
+        return new Entry(entry.getCrc(), entry.getSize(), entry.getUnixMode())
+            .equals(entries.get(entry.getName()));
+    }
+
+    /**
+     * @return The recorded entry names
+     */
+    Iterable<String> names() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * @param name The entry name
+     * @return True if the entry name is recorded
+     */
+    boolean containsName(String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * @return The number of entries
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Read a manifest
+     *
+     * @param file The manifest file
+     * @return The manifest
+     * @throws IOException Could not read or parse the file
+     */
+    static InstallManifest read(File file) throws IOException {
+        InstallManifest manifest = new InstallManifest();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(" ", 4);
+                if (fields.length != 4) {
+                    throw new IOException("Invalid line in " + file + ": " + line);
+                }
+                try {
+                    manifest.entries.put(fields[3], new Entry(
+                        Long.parseLong(fields[0], 16),
+                        Long.parseLong(fields[1]),
+                        Integer.parseInt(fields[2], 8)));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid line in " + file + ": " + line, e);
+                }
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Write the manifest
+     *
+     * @param file The manifest file
+     * @throws IOException Could not write the file
+     */
+    void write(File file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                Entry value = entry.getValue();
+                writer.write(Long.toHexString(value.crc) + " " + value.size + " "
+                    + Integer.toOctalString(value.mode) + " " + entry.getKey());
+                writer.newLine();
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final long crc;
+        private final long size;
+        private final int mode;
+
+        private Entry(long crc, long size, int mode) {
+            this.crc = crc;
+            this.size = size;
+            this.mode = mode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry entry = (Entry) o;
+            return crc == entry.crc && size == entry.size && mode == entry.mode;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(crc, size, mode);
+        }
+    }
+}
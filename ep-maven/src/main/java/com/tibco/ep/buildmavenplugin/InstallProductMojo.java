@@ -31,27 +31,12 @@ package com.tibco.ep.buildmavenplugin;
 
 import static org.apache.maven.plugins.annotations.LifecyclePhase.VALIDATE;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.math.BigInteger;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.List;
 
-import org.apache.maven.artifact.Artifact;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
-import org.codehaus.plexus.archiver.zip.ZipUnArchiver;
 
 /**
  * <p>Install product zip and tgz artifacts if not already installed.</p>
@@ -71,9 +56,33 @@ import org.codehaus.plexus.archiver.zip.ZipUnArchiver;
  * <b>productValidationFile</b> is used.  If this file exists, then the
  * product installation is not attempted.</p>
  * 
- * <p>If the plugin does install a zip, then an md5 sum of the original zip
- * is saved - this allows installation of a newer version of the zip at a
- * later time.  This can happen with SNAPSHOTS.</p>
+ * <p>If the plugin does install a zip, then an md5 sum and a fingerprint of
+ * the original zip are saved - this allows installation of a newer version of
+ * the zip at a later time.  This can happen with SNAPSHOTS.  The fingerprint
+ * is made of the zip size, modification time and a hash of its central
+ * directory, so checking an installation doesn't read the whole zip.  The
+ * md5 sum can still be checked in the background, see
+ * <b>verifyInstallation</b>.</p>
+ *
+ * <p>Archive entries are extracted in parallel, see <b>installThreads</b>.
+ * The marker file is only written once all the entries are extracted.</p>
+ *
+ * <p>The list of installed files, with their size and CRC, is saved next to
+ * the marker file.  When a newer zip is installed over a previous installation,
+ * only the added and changed files are extracted and the files no longer in
+ * the zip are removed, see <b>incrementalInstall</b>.</p>
+ *
+ * <p>Installations are protected by a lock file per artifact in the markers
+ * directory.  Builds checking an installation share the lock, and a build
+ * installing an artifact holds it exclusively, see <b>lockTimeout</b>.</p>
+ *
+ * <p>Only part of the zips can be installed, see <b>installProfile</b>.
+ * Goals needing a part not installed yet install it when they run.</p>
+ *
+ * <p>The installation can run in the background, see <b>asyncInstall</b>.</p>
+ *
+ * <p>Product files can be shared between product versions through a
+ * <b>productStore</b>.</p>
  */
 @Mojo(name = "install-product", defaultPhase = VALIDATE, threadSafe = true)
 public class InstallProductMojo extends BaseMojo {
@@ -146,237 +155,195 @@ public class InstallProductMojo extends BaseMojo {
      */
     @Parameter(property = "skipTests", defaultValue = "false")
     boolean skipTests;
-    
-    public void execute() throws MojoExecutionException {
-        getLog().debug("Install product");
-
-        prechecks();
-
-        for (Artifact artifact : getProjectDependencies("zip")) {
-            
-            final String artifactAsString = artifact.toString();
-            
-            // skip provided
-            if (artifact.getScope().equals(Artifact.SCOPE_PROVIDED)) {
-                getLog().debug("Ignoring provided artifact " + artifactAsString);
-                continue;
-            }
-            
-            // Platform and main attachments only.
-            if (!isPlatformArtifact(artifact)) {
-                getLog().debug("Ignoring non-platform artifact " + artifactAsString);
-                continue;
-            }
-            
-            if (null != artifact.getClassifier()) {
-                getLog().debug("Ignore classified artifact " + artifactAsString);
-                continue;
-            }
 
-            getLog().debug(artifactAsString+" local path = "+getArtifactPath(artifact));
+    /**
+     * <p>Number of threads used to extract a product archive.</p>
+     *
+     * <p>The default value of 0 uses the number of available processors.</p>
+     *
+     * <p>Example use on commandline:</p>
+     * <pre>
+     *     mvn install -DinstallThreads=4
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "installThreads", defaultValue = "0")
+    int installThreads;
 
-            File sourceFile = new File(getArtifactPath(artifact));
-            
-            boolean forceReplace = false;
+    /**
+     * <p>Set this to 'false' to always extract the whole zip when a previous
+     * installation is out of date, instead of only updating the files that
+     * changed.</p>
+     *
+     * <p>Example use on commandline:</p>
+     * <pre>
+     *     mvn install -DincrementalInstall=false
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "incrementalInstall", defaultValue = "true")
+    boolean incrementalInstall;
 
-            File markersFile = new File(productHome, markersDirectory+File.separator+getArtifactName(artifact)+".marker");
+    /**
+     * <p>Shared store of extracted product files.</p>
+     *
+     * <p>When set, each distinct product file is written once in this directory
+     * and product homes are populated with hard links to it (or copies if hard
+     * links are not supported), so that several product versions share their
+     * identical files.  Files under a product home populated this way must not
+     * be modified in place.</p>
+     *
+     * <p>Example use on commandline:</p>
+     * <pre>
+     *     mvn install -Dcom.tibco.ep.ep-maven.productStore=${user.home}/.m2/product-store
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "com.tibco.ep.ep-maven.productStore")
+    File productStore;
 
-            if (isInstalled(markersFile, sourceFile, artifact)) {
-                continue;
-            }
-            
-            // now we need check for directories existing, write access and create markers directory
-            
-            productHome.mkdirs();
-            if (!productHome.exists()) {
-                throw new MojoExecutionException("The product directory "+productHome+" does not exists or cannot be created");
-            }
-            if (! productHome.canWrite()) {
-                throw new MojoExecutionException("The product directory "+productHome+" cannot be written to for markers directory");
-            }
-            
+    /**
+     * <p>Set this to 'true' to also verify the md5 sum of an installed zip.</p>
+     *
+     * <p>The verification runs in the background while the build continues.
+     * If the zip doesn't match the installation, a warning is logged and the
+     * installation is marked out of date so that the next build installs the
+     * zip again.</p>
+     *
+     * <p>Example use on commandline:</p>
+     * <pre>
+     *     mvn install -DverifyInstallation=true
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "verifyInstallation", defaultValue = "false")
+    boolean verifyInstallation;
 
-            Locker locker = new Locker(productHome);
-            try {
-                
+    /**
+     * <p>Maximum time, in seconds, to wait for another build installing the
+     * same product.</p>
+     *
+     * <p>Builds only checking an installation don't wait for each other.  A
+     * value of 0 waits forever.</p>
+     *
+     * <p>Example use on commandline:</p>
+     * <pre>
+     *     mvn install -DlockTimeout=600
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "lockTimeout", defaultValue = "1800")
+    long lockTimeout;
 
-                File markersDir = new File(productHome, markersDirectory);
+    /**
+     * <p>Part of the product zips to install.</p>
+     *
+     * <p>One of <b>full</b>, <b>generate</b> (the StreamBase server and
+     * container jars needed by code generation) or <b>admin</b> (the DTM
+     * management tree and epadmin).  When only part of a zip is installed,
+     * later goals needing another part - for example start-nodes needing the
+     * full product - install it the first time they run.</p>
+     *
+     * <p>Ignored if <b>installIncludes</b> or <b>installExcludes</b> are set.</p>
+     *
+     * <p>Example use on commandline:</p>
+     * <pre>
+     *     mvn install -DinstallProfile=generate
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "installProfile", defaultValue = "full")
+    String installProfile;
 
-                // Create markers directory of it doesn't exist
-                //
-                if (!markersDir.exists() && !markersDir.mkdirs()) {
-                    throw new MojoExecutionException("Unable to create markers directory "+markersDir.getAbsolutePath());
-                }
-                
-                // we might have held the lock for a long time, so check again before doing the big work
-                if (isInstalled(markersFile, sourceFile, artifact)) {
-                    locker.release();
-                    continue;
-                }
-                
-                getLog().info("Installing "+artifactAsString+" to "+productHome);
+    /**
+     * <p>Paths of the product zips to install, as Ant patterns such as
+     * <code>distrib/tibco/sb/**</code>.</p>
+     *
+     * <p>Example use in pom.xml:</p>
+     * <pre>
+     *     &lt;installIncludes&gt;
+     *         &lt;installInclude&gt;distrib/tibco/sb/**&lt;/installInclude&gt;
+     *     &lt;/installIncludes&gt;
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter
+    List<String> installIncludes;
 
-                if (!productHome.exists() && !productHome.mkdirs()) {
-                    locker.release();
-                    throw new MojoExecutionException("Unable to create product directory "+productHome.getAbsolutePath());
-                }
+    /**
+     * <p>Paths of the product zips not to install, as Ant patterns.</p>
+     *
+     * <p>Example use in pom.xml:</p>
+     * <pre>
+     *     &lt;installExcludes&gt;
+     *         &lt;installExclude&gt;distrib/tibco/docs/**&lt;/installExclude&gt;
+     *     &lt;/installExcludes&gt;
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter
+    List<String> installExcludes;
 
-                // delete any old files - this avoid permission issues when re-extracting
-                //
-                ZipInputStream zis = null;
-                try {
-                    zis = new ZipInputStream(new FileInputStream(sourceFile));
-                    ZipEntry zipEntry = zis.getNextEntry();
-                    while(zipEntry != null){
-                        File oldFile = new File(productHome, zipEntry.getName());
-                        if (oldFile.exists() && oldFile.isFile()) {
-                            getLog().debug("File "+oldFile+" already exists so deleting");
-                            if (!oldFile.delete()) {
-                                getLog().warn("File "+oldFile+" failed to be deleted");
-                            }
-                        }
-                        zipEntry = zis.getNextEntry();
-                    }
-                    zis.closeEntry();
-                } catch (IOException e) {
-                } finally {
-                    if (zis != null) {
-                        try {
-                            zis.close();
-                        } catch (IOException e) {
-                        }
-                    }
-                }
+    /**
+     * <p>Set this to 'true' to install the product in the background.</p>
+     *
+     * <p>The following goals run while the product is installed, and goals
+     * needing the product - code generation, administration and tests - wait
+     * for the installation to complete.  The build also waits for it before
+     * ending, which requires the plugin to be declared with
+     * <code>&lt;extensions&gt;true&lt;/extensions&gt;</code>.</p>
+     *
+     * <p>Example use on commandline:</p>
+     * <pre>
+     *     mvn install -DasyncInstall=true
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "asyncInstall", defaultValue = "false")
+    boolean asyncInstall;
 
-                // and extract
-                //
-                ZipUnArchiver ua = new ZipUnArchiver();
-                ua.setSourceFile(sourceFile);
-                ua.setDestDirectory(productHome);
-                if (forceReplace) {
-                    ua.setOverwrite(true);
-                }
-                ua.extract();
+    public void execute() throws MojoExecutionException {
+        getLog().debug("Install product");
 
-                // we installed this, so create a md5 of original zip
-                //
-                String md5 = this.md5(sourceFile);
-                BufferedWriter output = null;
-                try {
-                    output = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(markersFile), StandardCharsets.UTF_8));
-                    output.write(md5);
-                } catch (IOException e) {
-                    getLog().warn("Unable to save zip checksum - "+e.getMessage());
-                } finally {
-                    if (output != null) {
-                        try {
-                            output.close();
-                        } catch (IOException e) {
-                        }
-                    }
-                }
+        prechecks();
 
-            } finally {
-                locker.release();
+        ProductSubset subset;
+        if ((installIncludes != null && !installIncludes.isEmpty()) || (installExcludes != null && !installExcludes.isEmpty())) {
+            subset = ProductSubset.of(installIncludes, installExcludes);
+        } else {
+            try {
+                subset = ProductSubset.forProfile(installProfile);
+            } catch (IllegalArgumentException e) {
+                throw new MojoExecutionException(e.getMessage(), e);
             }
-
         }
-    }
-    
-    // return true if already installed, false otherwise
-    //
-    private boolean isInstalled(File markersFile, File sourceFile, Artifact artifact) {
-        boolean forceReplace = false;
-        
-        if (markersFile.exists()) {
-            // if we have an md5 of the installation and its not the same as the zip we are installing, 
-            // install anyway
-            //
-            // this can happen with SNAPSHOT builds
-            //
-            if (markersFile.length() > 0) {
-                BufferedReader input = null;
-                try {
-                    input = new BufferedReader(new InputStreamReader(new FileInputStream(markersFile), StandardCharsets.UTF_8));
-                    String oldmd5 = input.readLine();
-                    if (oldmd5 == null) {
-                        getLog().warn("Unable to verify zip checksum");
-                    } else {
-                        String md5 = this.md5(sourceFile);
-                        if (!oldmd5.equals(md5)) {
-                            getLog().warn("Previous installation at "+productHome+" is old - overwriting");
-                            forceReplace = true;
-                        }
-                    }
-                } catch (IOException e) {
-                    getLog().warn("Unable to verify zip checksum - "+e.getMessage());
-                } finally {
-                    if (input != null) {
-                        try {
-                            input.close();
-                        } catch (IOException e) {
-                        }
-                    }
-                }
-            }
 
-            if (!forceReplace) {
-                getLog().info(artifact.toString()+" already installed by maven to "+productHome);
-                return true;
-            }
-        }
+        ProductInstaller installer = new ProductInstaller(productHome, getLog())
+            .withMarkersDirectory(markersDirectory)
+            .withValidationFiles(sbProductValidationFile, dtmProductValidationFile, dtmSupportValidationFile)
+            .withThreads(installThreads)
+            .withIncremental(incrementalInstall)
+            .withStore(productStore)
+            .withVerification(verifyInstallation)
+            .withLockTimeout(lockTimeout);
 
-        if (!forceReplace && isSBProduct(artifact) && new File(productHome, sbProductValidationFile).exists()) {
-            getLog().info(artifact.toString()+" already installed manually to "+productHome);
-            return true;
-        }
-        if (!forceReplace && isDTMProduct(artifact) && new File(productHome, dtmProductValidationFile).exists()) {
-            getLog().info(artifact.toString()+" already installed manually to "+productHome);
-            return true;
-        }
-        if (!forceReplace && isDTMSupport(artifact) && new File(productHome, dtmSupportValidationFile).exists()) {
-            getLog().info(artifact.toString()+" already installed manually to "+productHome);
-            return true;
-        }
+        // later goals of this build install missing parts with the same settings
+        //
+        registerProductInstaller(installer);
 
-        if (!sourceFile.exists()) {
-            getLog().debug(getArtifactPath(artifact)+" not downloaded yet ... skipping unpack");
-            return true;
-        }
-        
-        return false;
-    }
-    
-    
-    private String md5(final File sourceFile) {
-        
-        String md5 = "";
-        InputStream input = null;
-        try {
-            MessageDigest md5Local = MessageDigest.getInstance("MD5");
-            input = new FileInputStream(sourceFile.toString());
-            byte[] buffer = new byte[4096];
-            int n;
-            while ((n = input.read(buffer)) != -1) {
-                md5Local.update(buffer, 0, n);
-            }
-            byte[] digest = md5Local.digest();
-            BigInteger bi = new BigInteger(1, digest);
-            md5 = String.format("%0" + (digest.length << 1) + "X", bi);
-        } catch (NoSuchAlgorithmException e) {
-            getLog().warn("Unable to save zip checksum - "+e.getMessage());
-        } catch (IOException e) {
-            getLog().warn("Unable to save zip checksum - "+e.getMessage());
-        } finally {
-            if (input != null) {
-                try {
-                    input.close();
-                } catch (IOException e) {
-                }
-            }
+        if (asyncInstall) {
+            getLog().info("Installing product to "+productHome+" in the background");
         }
-        
-        return md5;
+        installProduct(installer, subset, asyncInstall);
     }
 
 }
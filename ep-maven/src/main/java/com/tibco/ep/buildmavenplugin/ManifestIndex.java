@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.maven.execution.MavenSession;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Index of the main manifest attributes of archives.
+ * <p>
+ * Manifests are read through the zip central directory, and their main
+ * attributes are kept in memory for the session and in an index file for
+ * the next builds. Entries are keyed by the archive path, size and last
+ * modification time, so a changed archive is read again.
+ * <p>
+ * Attribute names are case insensitive, as in manifests.
+ * <p>
+ * The index file is a properties file - <code>@path</code> holds the size
+ * and modification time of an archive, and <code>attribute@path</code> the
+ * value of an attribute.
+ */
+final class ManifestIndex {
+
+    private static final String MANIFEST = "META-INF/MANIFEST.MF";
+
+    private final File indexFile;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private boolean loaded;
+    private boolean dirty;
+
+    private ManifestIndex(File indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * Get the manifest index backed by an index file, shared in a session
+     *
+     * @param session   The session, may be null
+     * @param indexFile The index file
+     * @return The index
+     */
+    static ManifestIndex get(MavenSession session, File indexFile) {
+        return SessionRegistry.get(session, Indexes.class, Indexes::new)
+            .computeIfAbsent(indexFile.getAbsolutePath(), path -> new ManifestIndex(indexFile));
+    }
+
+    /**
+     * Get a main attribute of the manifest of an archive
+     *
+     * @param archive The archive
+     * @param name    The attribute name
+     * @return The attribute value, empty if the archive has no manifest or no such attribute
+     * @throws IOException Unable to read the archive
+     */
+    Optional<String> getMainAttribute(File archive, String name) throws IOException {
+        load();
+
+        String path = archive.getAbsolutePath();
+        long size = archive.length();
+        long lastModified = archive.lastModified();
+
+        Entry entry = entries.get(path);
+        if (entry == null || entry.size != size || entry.lastModified != lastModified) {
+            entry = new Entry(size, lastModified, read(archive));
+            entries.put(path, entry);
+            synchronized (this) {
+                dirty = true;
+            }
+        }
+        return Optional.ofNullable(entry.attributes.get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Save the index file if entries were added
+     *
+     * @throws IOException Unable to write the index file
+     */
+    synchronized void save() throws IOException {
+        if (!dirty) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        entries.forEach((path, entry) -> {
+            properties.setProperty("@" + path, entry.size + ":" + entry.lastModified);
+            entry.attributes.forEach((name, value) -> properties.setProperty(name + "@" + path, value));
+        });
+
+        Path target = indexFile.toPath();
+        Files.createDirectories(target.getParent());
+        Path temporary = Files.createTempFile(target.getParent(), indexFile.getName(), ".tmp");
+        try {
+            try (OutputStream output = Files.newOutputStream(temporary)) {
+                properties.store(output, "Manifest index");
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        dirty = false;
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+
+        if (!indexFile.isFile()) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(indexFile.toPath())) {
+            properties.load(input);
+        } catch (IOException | IllegalArgumentException e) {
+
+            //  A corrupted index is rebuilt.
+            //
+            return;
+        }
+
+        Map<String, Map<String, String>> attributes = new HashMap<>();
+        Map<String, long[]> headers = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            int separator = key.indexOf('@');
+            if (separator < 0) {
+                continue;
+            }
+            String path = key.substring(separator + 1);
+            String value = properties.getProperty(key);
+            if (separator == 0) {
+                String[] fields = value.split(":");
+                try {
+                    headers.put(path, new long[] { Long.parseLong(fields[0]), Long.parseLong(fields[1]) });
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    // ignore the entry
+                }
+            } else {
+                attributes.computeIfAbsent(path, p -> new HashMap<>()).put(key.substring(0, separator), value);
+            }
+        }
+
+        headers.forEach((path, header) -> entries.putIfAbsent(path, new Entry(header[0], header[1],
+            attributes.getOrDefault(path, Collections.emptyMap()))));
+    }
+
+    private static Map<String, String> read(File archive) throws IOException {
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            ZipEntry manifestEntry = zipFile.getEntry(MANIFEST);
+            if (manifestEntry == null) {
+                return Collections.emptyMap();
+            }
+
+            Manifest manifest;
+            try (InputStream input = zipFile.getInputStream(manifestEntry)) {
+                manifest = new Manifest(input);
+            }
+
+            Map<String, String> attributes = new HashMap<>();
+            for (Map.Entry<Object, Object> attribute : manifest.getMainAttributes().entrySet()) {
+                attributes.put(attribute.getKey().toString().toLowerCase(Locale.ROOT), (String) attribute.getValue());
+            }
+            return Collections.unmodifiableMap(attributes);
+        }
+    }
+
+    // main attributes of an archive
+    //
+    private static final class Entry {
+        private final long size;
+        private final long lastModified;
+        private final Map<String, String> attributes;
+
+        Entry(long size, long lastModified, Map<String, String> attributes) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.attributes = attributes;
+        }
+    }
+
+    // indexes of a session, by index file
+    //
+    private static final class Indexes extends ConcurrentHashMap<String, ManifestIndex> {
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipFile;
+
+/**
+ * Index of the packages found in a list of jars.
+ * <p>
+ * Jars are indexed on first lookup, so that a class or resource is looked
+ * for only in the jars holding its package rather than in every jar in
+ * turn. Directories, non-file URLs, multi-release jars and the manifest
+ * Class-Path entries of jars are not indexed, and lookups that miss the
+ * index must then fall back to a full search.
+ */
+final class PackageIndex implements Closeable {
+
+    private final Map<String, List<IndexedJar>> packages = new HashMap<>();
+    private final List<IndexedJar> jars = new ArrayList<>();
+    private final List<File> pending = new ArrayList<>();
+    private boolean complete = true;
+
+    /**
+     * An indexed jar
+     */
+    static final class IndexedJar {
+
+        private final JarFile jarFile;
+        private final URL url;
+
+        private IndexedJar(JarFile jarFile, URL url) {
+            this.jarFile = jarFile;
+            this.url = url;
+        }
+
+        /**
+         * @return The jar file
+         */
+        JarFile getJarFile() {
+            return jarFile;
+        }
+
+        /**
+         * @return The jar URL
+         */
+        URL getUrl() {
+            return url;
+        }
+
+        /**
+         * Get the URL of an entry
+         *
+         * @param entry The entry
+         * @return The URL
+         */
+        URL getEntryUrl(JarEntry entry) {
+            String name = entry.getName();
+            try {
+                name = new URI(null, null, name, null).toASCIIString();
+            } catch (URISyntaxException e) {
+                // left as is
+            }
+            try {
+                return new URL("jar:" + url + "!/" + name);
+            } catch (MalformedURLException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Add a URL to the index
+     *
+     * @param url The URL
+     */
+    synchronized void add(URL url) {
+        File file = toFile(url);
+        if (file != null && file.isFile()) {
+            pending.add(file);
+        } else {
+            complete = false;
+        }
+    }
+
+    /**
+     * @return True if every URL added is an indexed jar, so that a path missing from the
+     * index is not found in any of them
+     */
+    synchronized boolean isComplete() {
+        indexPending();
+        return complete;
+    }
+
+    /**
+     * Get the jars holding a path
+     *
+     * @param path The path of a class file or resource
+     * @return The jars holding an entry for the path, in the order they were added
+     */
+    synchronized List<IndexedJar> find(String path) {
+        indexPending();
+
+        int slash = path.lastIndexOf('/');
+        List<IndexedJar> candidates = packages.get(slash < 0 ? "" : path.substring(0, slash));
+        if (candidates == null) {
+            return Collections.emptyList();
+        }
+
+        List<IndexedJar> found = new ArrayList<>();
+        for (IndexedJar jar : candidates) {
+            if (jar.jarFile.getEntry(path) != null) {
+                found.add(jar);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        IOException failure = null;
+        for (IndexedJar jar : jars) {
+            try {
+                jar.jarFile.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        jars.clear();
+        packages.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void indexPending() {
+        for (File file : pending) {
+            JarFile jarFile;
+            try {
+                jarFile = new JarFile(file, true, ZipFile.OPEN_READ, JarFile.runtimeVersion());
+                if (jarFile.isMultiRelease()) {
+                    jarFile.close();
+                    complete = false;
+                    continue;
+                }
+                Manifest manifest = jarFile.getManifest();
+                if (manifest != null && manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH) != null) {
+                    complete = false;
+                }
+            } catch (IOException e) {
+                complete = false;
+                continue;
+            }
+
+            IndexedJar jar;
+            try {
+                jar = new IndexedJar(jarFile, file.toURI().toURL());
+            } catch (MalformedURLException e) {
+                complete = false;
+                continue;
+            }
+            jars.add(jar);
+
+            for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements(); ) {
+                JarEntry entry = entries.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                String name = entry.getName();
+                int slash = name.lastIndexOf('/');
+                List<IndexedJar> holders = packages.computeIfAbsent(
+                    slash < 0 ? "" : name.substring(0, slash), key -> new ArrayList<>());
+                if (holders.isEmpty() || holders.get(holders.size() - 1) != jar) {
+                    holders.add(jar);
+                }
+            }
+        }
+        pending.clear();
+    }
+
+    private static File toFile(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.maven.execution.MavenSession;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.tibco.ep.buildmavenplugin.BaseMojo.PluginClassloader;
+
+/**
+ * Plugin class loaders of the runtime services of a Maven session.
+ * <p>
+ * Each product version and service type gets one class loader, with the
+ * service jars loaded once, shared by the mojo executions of the session.
+ * The service implementations are not known to be safe for concurrent use,
+ * their static state included: in parallel sessions, each project gets its
+ * own class loaders, shared by its executions only, which run one at a time.
+ * Service instances are never shared, each execution looks up its own.
+ * <p>
+ * Entries are reference counted. When the end of the session is observed -
+ * the plugin being declared with <code>&lt;extensions&gt;true&lt;/extensions&gt;</code> -
+ * a class loader is closed when the session has ended and its last mojo
+ * execution has released it. Otherwise it is closed as soon as no mojo
+ * execution uses it.
+ */
+final class PlatformServices {
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean closedAtSessionEnd;
+    private boolean closed;
+
+    /**
+     * A shared class loader
+     */
+    static final class Entry {
+
+        private final String key;
+        private final PluginClassloader classLoader;
+        private int references;
+        private boolean loaded;
+
+        private Entry(String key, PluginClassloader classLoader) {
+            this.key = key;
+            this.classLoader = classLoader;
+        }
+
+        /**
+         * @return The class loader
+         */
+        PluginClassloader getClassLoader() {
+            return classLoader;
+        }
+
+        /**
+         * @return True if the service jars have been added to the class loader
+         */
+        boolean isLoaded() {
+            return loaded;
+        }
+
+        /**
+         * Record that the service jars have been added to the class loader
+         */
+        void setLoaded() {
+            loaded = true;
+        }
+    }
+
+    /**
+     * Get the services of a session
+     *
+     * @param session The session, may be null
+     * @return The services, a new instance if there is no session
+     */
+    static PlatformServices get(MavenSession session) {
+        return SessionRegistry.get(session, PlatformServices.class, PlatformServices::new);
+    }
+
+    /**
+     * Record that {@link #close()} is called at the end of the session, so
+     * that class loaders no longer used are kept until then
+     */
+    synchronized void closeAtSessionEnd() {
+        closedAtSessionEnd = true;
+    }
+
+    /**
+     * Acquire a reference to an entry, creating it if needed.
+     * <p>
+     * Callers synchronize on the entry while loading jars.
+     *
+     * @param productVersion The product version
+     * @param service        The service type
+     * @param project        The project the entry is restricted to, null to
+     *                       share it with all the projects
+     * @param factory        Creates the class loader
+     * @return The entry
+     */
+    synchronized Entry acquire(String productVersion, BaseMojo.PlatformService service, String project,
+        Supplier<PluginClassloader> factory) {
+        String key = productVersion + ":" + service + (project == null ? "" : ":" + project);
+        Entry entry = entries.get(key);
+        if (entry == null || closed) {
+            entry = new Entry(key, factory.get());
+            if (!closed) {
+                entries.put(key, entry);
+            }
+        }
+        entry.references++;
+        return entry;
+    }
+
+    /**
+     * Release a reference to an entry
+     *
+     * @param entry The entry
+     */
+    synchronized void release(Entry entry) {
+        entry.references--;
+        if (entry.references <= 0 && (closed || !closedAtSessionEnd || entries.get(entry.key) != entry)) {
+            entries.remove(entry.key, entry);
+            close(entry);
+        }
+    }
+
+    /**
+     * End of the session: close the class loaders no longer referenced, the
+     * others are closed on their last release
+     */
+    synchronized void close() {
+        closed = true;
+        entries.values().removeIf(entry -> {
+            if (entry.references > 0) {
+                return false;
+            }
+            close(entry);
+            return true;
+        });
+    }
+
+    /**
+     * @return The number of class loaders kept for the session
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static void close(Entry entry) {
+        try {
+            entry.classLoader.close();
+        } catch (IOException e) {
+            // nothing to do
+        }
+    }
+}
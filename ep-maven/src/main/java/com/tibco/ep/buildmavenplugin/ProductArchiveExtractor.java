@@ -0,0 +1,346 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Extract a product archive using several threads.
+ * <p>
+ * The zip central directory is read once, directories are created up-front and
+ * the file entries are then inflated and written by a pool of workers. Each
+ * worker reads its entry through the shared archive channel (positional reads)
+ * and writes the destination through its own {@link FileChannel}.
+ * <p>
+ * Existing destination files are deleted before being written, so read-only
+ * files from a previous installation do not prevent a re-installation.
+ * <p>
+ * Workers do not log, the Maven log is only used from the calling thread.
+ */
+final class ProductArchiveExtractor {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File archive;
+    private final Path destination;
+    private final int threads;
+    private final Log log;
+    private final AtomicInteger storedFiles = new AtomicInteger();
+    private final AtomicInteger reusedFiles = new AtomicInteger();
+    private ProductStore store;
+    private Predicate<String> filter;
+
+    /**
+     * @param archive     The archive to extract
+     * @param destination The destination directory
+     * @param threads     The number of worker threads, 0 or less to use the number of available processors
+     * @param log         The log
+     */
+    ProductArchiveExtractor(File archive, File destination, int threads, Log log) {
+        this.archive = archive;
+        this.destination = destination.getAbsoluteFile().toPath().normalize();
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.log = log;
+    }
+
+    /**
+     * Populate the destination from a product store instead of writing the files directly
+     *
+     * @param store The product store, null to write the files directly
+     * @return This
+     */
+    ProductArchiveExtractor withStore(ProductStore store) {
+        this.store = store;
+        return this;
+    }
+
+    /**
+     * Only extract the entries whose name is accepted by a filter
+     *
+     * @param filter The filter, null to extract all the entries
+     * @return This
+     */
+    ProductArchiveExtractor withFilter(Predicate<String> filter) {
+        this.filter = filter;
+        return this;
+    }
+
+    /**
+     * Extract all the archive entries
+     *
+     * @return The manifest of the extracted archive
+     * @throws MojoExecutionException The extraction failed
+     */
+    InstallManifest extract() throws MojoExecutionException {
+        return extract(null);
+    }
+
+    /**
+     * Extract the archive entries that are not part of a previous installation.
+     * <p>
+     * Entries recorded in the previous manifest with the same size, CRC and mode,
+     * and still present on disk, are left untouched. Files of the previous
+     * installation that are no longer extracted from the archive are deleted.
+     *
+     * @param previous The manifest of the previous installation, null to extract everything
+     * @return The manifest of the extracted archive
+     * @throws MojoExecutionException The extraction failed
+     */
+    InstallManifest extract(InstallManifest previous) throws MojoExecutionException {
+
+        try (ZipFile zipFile = ZipFile.builder().setFile(archive).get()) {
+
+            InstallManifest current = new InstallManifest();
+            List<ZipArchiveEntry> files = new ArrayList<>();
+            int unchanged = 0;
+            for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
+                if (filter != null && !filter.test(entry.getName())) {
+                    continue;
+                }
+
+                Path target = resolve(entry);
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                    continue;
+                }
+
+                current.add(entry);
+                if (previous != null && previous.contains(entry)
+                    && Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+                    unchanged++;
+                } else {
+                    files.add(entry);
+                }
+            }
+
+            int removed = 0;
+            if (previous != null) {
+                for (String name : previous.names()) {
+                    if (!current.containsName(name) && Files.deleteIfExists(resolve(name))) {
+                        removed++;
+                    }
+                }
+                log.info("Updating " + files.size() + " file" + (files.size() == 1 ? "" : "s")
+                    + ", removing " + removed + ", keeping " + unchanged + " unchanged");
+            }
+
+            //  Largest entries first, so that the pool does not end up waiting
+            //  on a single big entry started last.
+            //
+            files.sort(Comparator.comparingLong(ZipArchiveEntry::getSize).reversed());
+
+            log.debug("Extracting " + files.size() + " files from " + archive
+                + " using " + threads + " thread" + (threads == 1 ? "" : "s"));
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads, new WorkerFactory());
+            try {
+                List<Future<Void>> futures = new ArrayList<>();
+                for (ZipArchiveEntry entry : files) {
+                    futures.add(executor.submit(() -> {
+                        extractEntry(zipFile, entry);
+                        return null;
+                    }));
+                }
+
+                for (Future<Void> future : futures) {
+                    future.get();
+                }
+
+            } catch (ExecutionException e) {
+                throw new MojoExecutionException("Unable to extract " + archive
+                    + ": " + e.getCause().getMessage(), e.getCause());
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MojoExecutionException("Interrupted while extracting " + archive, e);
+
+            } finally {
+                executor.shutdownNow();
+            }
+
+            if (store != null) {
+                log.info("Product store: " + storedFiles.get() + " file" + (storedFiles.get() == 1 ? "" : "s")
+                    + " added, " + reusedFiles.get() + " reused");
+            }
+
+            return current;
+
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to extract " + archive + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void extractEntry(ZipFile zipFile, ZipArchiveEntry entry) throws IOException {
+
+        Path target = resolve(entry);
+        Files.createDirectories(target.getParent());
+
+        if (Files.isRegularFile(target, LinkOption.NOFOLLOW_LINKS)
+            || Files.isSymbolicLink(target)) {
+            Files.delete(target);
+        }
+
+        if (entry.isUnixSymlink()) {
+            Files.createSymbolicLink(target, target.getFileSystem().getPath(zipFile.getUnixSymlink(entry)));
+            return;
+        }
+
+        if (store == null) {
+            writeFile(zipFile, entry, target);
+            setAttributes(entry, target);
+        } else if (store.link(entry, target, new ProductStore.Content() {
+            @Override
+            public void write(Path path) throws IOException {
+                writeFile(zipFile, entry, path);
+            }
+
+            @Override
+            public InputStream open() throws IOException {
+                return zipFile.getInputStream(entry);
+            }
+        })) {
+            storedFiles.incrementAndGet();
+        } else {
+            reusedFiles.incrementAndGet();
+        }
+    }
+
+    private static void writeFile(ZipFile zipFile, ZipArchiveEntry entry, Path target) throws IOException {
+
+        try (InputStream input = zipFile.getInputStream(entry);
+             ReadableByteChannel source = Channels.newChannel(input);
+             FileChannel output = FileChannel.open(target,
+                 StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    output.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+    }
+
+    /**
+     * Set the modification time and permissions of an extracted file
+     *
+     * @param entry  The archive entry
+     * @param target The file
+     * @throws IOException Could not set the attributes
+     */
+    static void setAttributes(ZipArchiveEntry entry, Path target) throws IOException {
+        if (entry.getTime() != -1) {
+            Files.setLastModifiedTime(target, FileTime.fromMillis(entry.getTime()));
+        }
+
+        if (entry.getPlatform() == ZipArchiveEntry.PLATFORM_UNIX && entry.getUnixMode() != 0) {
+            setPermissions(target, entry.getUnixMode());
+        }
+    }
+
+    private Path resolve(ZipArchiveEntry entry) throws IOException {
+        return resolve(entry.getName());
+    }
+
+    private Path resolve(String name) throws IOException {
+
+        //  Guard against entries escaping the destination directory.
+        //
+        Path target = destination.resolve(name).normalize();
+        if (!target.startsWith(destination)) {
+            throw new IOException("Entry " + name + " is outside of " + destination);
+        }
+        return target;
+    }
+
+    private static void setPermissions(Path target, int mode) throws IOException {
+        Set<PosixFilePermission> permissions = EnumSet.noneOf(PosixFilePermission.class);
+        PosixFilePermission[] values = PosixFilePermission.values();
+
+        //  PosixFilePermission is ordered from OWNER_READ (0400) to OTHERS_EXECUTE (0001).
+        //
+        for (int i = 0; i < values.length; i++) {
+            if ((mode & (1 << (values.length - 1 - i))) != 0) {
+                permissions.add(values[i]);
+            }
+        }
+
+        try {
+            Files.setPosixFilePermissions(target, permissions);
+        } catch (UnsupportedOperationException e) {
+            //  Not a POSIX file system (Windows), nothing to do.
+        }
+    }
+
+    private static class WorkerFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ep-install-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
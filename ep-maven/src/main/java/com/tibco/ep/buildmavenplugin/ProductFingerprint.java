@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+
+/**
+ * A cheap fingerprint of a product archive.
+ * <p>
+ * The fingerprint is made of the archive size, its last modification time and
+ * a hash of its zip central directory. The central directory holds the name,
+ * size and CRC of every entry, so its hash changes with the archive content
+ * while only reading a small part of the archive.
+ * <p>
+ * The string form is <code>size:lastModified:hash</code>.
+ */
+final class ProductFingerprint {
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE = 56;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final long ZIP64_MARKER = 0xFFFFFFFFL;
+
+    private final long size;
+    private final long lastModified;
+    private final String hash;
+
+    private ProductFingerprint(long size, long lastModified, String hash) {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.hash = hash;
+    }
+
+    /**
+     * Compute the fingerprint of an archive
+     *
+     * @param archive The archive
+     * @return The fingerprint
+     * @throws IOException Could not read the archive, or it is not a zip file
+     */
+    static ProductFingerprint of(File archive) throws IOException {
+        return new ProductFingerprint(archive.length(), archive.lastModified(), hashCentralDirectory(archive));
+    }
+
+    /**
+     * Parse a fingerprint string
+     *
+     * @param value The fingerprint string
+     * @return The fingerprint, or null if the string is not a fingerprint
+     */
+    static ProductFingerprint parse(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        String[] fields = value.split(":");
+        if (fields.length != 3) {
+            return null;
+        }
+        try {
+            return new ProductFingerprint(Long.parseLong(fields[0]), Long.parseLong(fields[1]), fields[2]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Check if an archive has this fingerprint.
+     * <p>
+     * An archive with the same size and modification time is assumed unchanged
+     * without reading it. Otherwise, its central directory is hashed.
+     *
+     * @param archive The archive
+     * @return True if the archive has this fingerprint
+     * @throws IOException Could not read the archive
+     */
+    boolean matches(File archive) throws IOException {
+        if (archive.length() != size) {
+            return false;
+        }
+        if (archive.lastModified() == lastModified) {
+            return true;
+        }
+        return hash.equals(hashCentralDirectory(archive));
+    }
+
+    private static String hashCentralDirectory(File archive) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(archive.toPath(), StandardOpenOption.READ)) {
+
+            //  Locate the end of central directory record, followed by an optional comment.
+            //
+            long fileSize = channel.size();
+            int tailSize = (int) Math.min(fileSize, MAX_COMMENT_SIZE + END_OF_CENTRAL_DIRECTORY_SIZE);
+            long tailPosition = fileSize - tailSize;
+            ByteBuffer tail = read(channel, tailPosition, tailSize);
+
+            int end = -1;
+            for (int i = tailSize - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+                if (tail.getInt(i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                    end = i;
+                    break;
+                }
+            }
+            if (end < 0) {
+                throw new IOException(archive + " is not a zip file");
+            }
+
+            long directorySize = tail.getInt(end + 12) & 0xFFFFFFFFL;
+            long directoryOffset = tail.getInt(end + 16) & 0xFFFFFFFFL;
+
+            if ((directorySize == ZIP64_MARKER || directoryOffset == ZIP64_MARKER)
+                && tailPosition + end >= ZIP64_LOCATOR_SIZE) {
+                ByteBuffer locator = read(channel, tailPosition + end - ZIP64_LOCATOR_SIZE, ZIP64_LOCATOR_SIZE);
+                if (locator.getInt(0) == ZIP64_LOCATOR_SIGNATURE) {
+                    ByteBuffer zip64End = read(channel, locator.getLong(8), ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE);
+                    if (zip64End.getInt(0) != ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                        throw new IOException(archive + " has an invalid zip64 end of central directory");
+                    }
+                    directorySize = zip64End.getLong(40);
+                    directoryOffset = zip64End.getLong(48);
+                }
+            }
+
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            long position = directoryOffset;
+            long remaining = directorySize;
+            while (remaining > 0) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), remaining));
+                int n = channel.read(buffer, position);
+                if (n < 0) {
+                    throw new IOException(archive + " is truncated");
+                }
+                buffer.flip();
+                digest.update(buffer);
+                position += n;
+                remaining -= n;
+            }
+
+            byte[] bytes = digest.digest();
+            return String.format("%0" + (bytes.length << 1) + "X", new BigInteger(1, bytes));
+
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Unable to hash " + archive + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductFingerprint)) {
+            return false;
+        }
+        ProductFingerprint that = (ProductFingerprint) o;
+        return size == that.size && lastModified == that.lastModified && hash.equals(that.hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(size, lastModified, hash);
+    }
+
+    @Override
+    public String toString() {
+        return size + ":" + lastModified + ":" + hash;
+    }
+}
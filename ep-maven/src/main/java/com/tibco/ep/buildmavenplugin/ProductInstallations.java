@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Product installations of a Maven session.
+ * <p>
+ * Each installation step runs once per session, for the first module
+ * needing it - the other modules wait for it and reuse its result.
+ * <p>
+ * Installations can run in the background - goals needing files under a
+ * product home wait for the installations into that product home to
+ * complete, and the session waits for all of them before it ends.
+ */
+final class ProductInstallations {
+
+    private final Map<String, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Void>> completed = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+
+    /**
+     * An installation step
+     */
+    interface Task {
+        /**
+         * Run the step
+         *
+         * @throws MojoExecutionException The step failed
+         */
+        void run() throws MojoExecutionException;
+    }
+
+    /**
+     * Get the installations of a session
+     *
+     * @param session The session, may be null
+     * @return The installations, a new instance if there is no session
+     */
+    static ProductInstallations get(MavenSession session) {
+        return SessionRegistry.get(session, ProductInstallations.class, ProductInstallations::new);
+    }
+
+    /**
+     * Run an installation into a product home in the background.
+     * <p>
+     * Installations into the same product home run one after the other.
+     *
+     * @param productHome The product home
+     * @param task        The installation
+     */
+    void submit(File productHome, Task task) {
+        pending.compute(productHome.getAbsolutePath(), (key, previous) -> {
+            CompletableFuture<Void> start = previous == null
+                ? CompletableFuture.completedFuture(null)
+                : previous.handle((result, failure) -> null);
+            return start.thenRunAsync(() -> {
+                try {
+                    task.run();
+                } catch (MojoExecutionException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor());
+        });
+    }
+
+    /**
+     * Run an installation step, unless a step with the same key already ran
+     * in this session.
+     * <p>
+     * If the step is running in another thread, this waits for it to
+     * complete. A failed step fails again with the same error.
+     *
+     * @param key  Key identifying the step
+     * @param task The step
+     * @return True if the step was run by this call
+     * @throws MojoExecutionException The step failed
+     */
+    boolean once(String key, Task task) throws MojoExecutionException {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        CompletableFuture<Void> existing = completed.putIfAbsent(key, future);
+        if (existing != null) {
+            await(existing);
+            return false;
+        }
+
+        try {
+            task.run();
+            future.complete(null);
+        } catch (MojoExecutionException | RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Wait for the background installations into a product home
+     *
+     * @param productHome The product home
+     * @throws MojoExecutionException An installation failed
+     */
+    void await(File productHome) throws MojoExecutionException {
+        CompletableFuture<Void> future = pending.get(productHome.getAbsolutePath());
+        if (future != null) {
+            await(future);
+        }
+    }
+
+    /**
+     * Wait for all the background installations
+     *
+     * @throws MojoExecutionException An installation failed
+     */
+    void awaitAll() throws MojoExecutionException {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(pending.values());
+        try {
+            for (CompletableFuture<Void> future : futures) {
+                await(future);
+            }
+        } finally {
+            synchronized (this) {
+                if (executor != null) {
+                    executor.shutdown();
+                    executor = null;
+                }
+            }
+        }
+    }
+
+    private static void await(CompletableFuture<Void> future) throws MojoExecutionException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while waiting for product installation", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof MojoExecutionException) {
+                throw (MojoExecutionException) cause;
+            }
+            throw new MojoExecutionException("Product installation failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private synchronized ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "ep-install-product");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,483 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Install product zips into a product home.
+ * <p>
+ * A marker file per zip records its md5 sum, its {@link ProductFingerprint}
+ * and the {@link ProductSubset}s installed so far - no subset means the whole
+ * zip. Installing a subset that is not installed yet extracts it next to the
+ * existing files.
+ */
+final class ProductInstaller {
+
+    // marker files already verified, or being verified, in this JVM
+    //
+    private static final Set<String> VERIFIED_MARKERS = ConcurrentHashMap.newKeySet();
+
+    private final File productHome;
+    private final Log log;
+    private String markersDirectory = "dependency-maven-plugin-markers";
+    private String sbProductValidationFile = "distrib/tibco/sb/deploy/sb.kds";
+    private String dtmProductValidationFile = "distrib/tibco/dtm/deploy/dtm.kds";
+    private String dtmSupportValidationFile = "distrib/tibco/devbin/epadmin";
+    private int threads;
+    private boolean incremental = true;
+    private File store;
+    private boolean verify;
+    private long lockTimeoutMillis = TimeUnit.MINUTES.toMillis(30);
+
+    /**
+     * @param productHome The product home
+     * @param log         The log
+     */
+    ProductInstaller(File productHome, Log log) {
+        this.productHome = productHome;
+        this.log = log;
+    }
+
+    /**
+     * @param markersDirectory Directory of the marker files, relative to the product home
+     * @return This
+     */
+    ProductInstaller withMarkersDirectory(String markersDirectory) {
+        this.markersDirectory = markersDirectory;
+        return this;
+    }
+
+    /**
+     * @param sbProduct  File showing a manual installation of the SB product, relative to the product home
+     * @param dtmProduct File showing a manual installation of the DTM product, relative to the product home
+     * @param dtmSupport File showing a manual installation of the DTM support, relative to the product home
+     * @return This
+     */
+    ProductInstaller withValidationFiles(String sbProduct, String dtmProduct, String dtmSupport) {
+        this.sbProductValidationFile = sbProduct;
+        this.dtmProductValidationFile = dtmProduct;
+        this.dtmSupportValidationFile = dtmSupport;
+        return this;
+    }
+
+    /**
+     * @return File showing a manual installation of the SB product
+     */
+    String getSbProductValidationFile() {
+        return sbProductValidationFile;
+    }
+
+    /**
+     * @return File showing a manual installation of the DTM product
+     */
+    String getDtmProductValidationFile() {
+        return dtmProductValidationFile;
+    }
+
+    /**
+     * @return File showing a manual installation of the DTM support
+     */
+    String getDtmSupportValidationFile() {
+        return dtmSupportValidationFile;
+    }
+
+    /**
+     * @param threads Number of extraction threads, 0 or less for the number of available processors
+     * @return This
+     */
+    ProductInstaller withThreads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * @param incremental True to only update the changed files of a previous installation
+     * @return This
+     */
+    ProductInstaller withIncremental(boolean incremental) {
+        this.incremental = incremental;
+        return this;
+    }
+
+    /**
+     * @param store The product store directory, null to write product files directly
+     * @return This
+     */
+    ProductInstaller withStore(File store) {
+        this.store = store;
+        return this;
+    }
+
+    /**
+     * @param verify True to verify the md5 sum of installed zips in the background
+     * @return This
+     */
+    ProductInstaller withVerification(boolean verify) {
+        this.verify = verify;
+        return this;
+    }
+
+    /**
+     * @param lockTimeout Maximum time to wait for the installation lock in seconds, 0 to wait forever
+     * @return This
+     */
+    ProductInstaller withLockTimeout(long lockTimeout) {
+        this.lockTimeoutMillis = TimeUnit.SECONDS.toMillis(lockTimeout);
+        return this;
+    }
+
+    /**
+     * Install a subset of a product zip, unless already installed
+     *
+     * @param description    Description of the zip for messages
+     * @param name           Unique name of the zip, used for the marker file
+     * @param sourceFile     The zip
+     * @param validationFile File, relative to the product home, showing a manual installation - may be null
+     * @param subset         The subset to install
+     * @throws MojoExecutionException The installation failed
+     */
+    void install(String description, String name, File sourceFile, String validationFile, ProductSubset subset) throws MojoExecutionException {
+        install(description, name, sourceFile, validationFile, subset, true);
+    }
+
+    private void install(String description, String name, File sourceFile, String validationFile, ProductSubset subset,
+        boolean statusLog) throws MojoExecutionException {
+
+        File markersDir = new File(productHome, markersDirectory);
+        File markersFile = new File(markersDir, name+".marker");
+        File lockFile = new File(markersDir, name+".lock");
+
+        // builds only reading the installation share the lock
+        //
+        try (ProductLock lock = sharedLock(markersDir, lockFile)) {
+            if (isInstalled(description, markersFile, lockFile, sourceFile, validationFile, subset, statusLog)) {
+                return;
+            }
+        }
+
+        // now we need check for directories existing, write access and create markers directory
+
+        productHome.mkdirs();
+        if (!productHome.exists()) {
+            throw new MojoExecutionException("The product directory "+productHome+" does not exists or cannot be created");
+        }
+        if (! productHome.canWrite()) {
+            throw new MojoExecutionException("The product directory "+productHome+" cannot be written to for markers directory");
+        }
+
+        // Create markers directory of it doesn't exist
+        //
+        if (!markersDir.exists() && !markersDir.mkdirs()) {
+            throw new MojoExecutionException("Unable to create markers directory "+markersDir.getAbsolutePath());
+        }
+
+        try (ProductLock lock = ProductLock.exclusive(lockFile, lockTimeoutMillis)) {
+
+            // we might have waited for the lock for a long time, so check again before doing the big work
+            if (isInstalled(description, markersFile, lockFile, sourceFile, validationFile, subset, statusLog)) {
+                return;
+            }
+
+            // keep the subsets already installed, even from an older zip - a marker
+            // without subsets records a whole zip, or was written by an older plugin
+            //
+            List<ProductSubset> subsets = new ArrayList<>();
+            if (markersFile.exists()) {
+                try {
+                    Marker marker = readMarker(markersFile);
+                    subsets.addAll(marker.subsets.isEmpty() ? List.of(ProductSubset.ALL) : marker.subsets);
+                } catch (IOException e) {
+                    log.warn("Unable to read installed parts, installing all files - "+e.getMessage());
+                    subsets.add(ProductSubset.ALL);
+                }
+            }
+            if (!subsets.contains(subset)) {
+                subsets.add(subset);
+            }
+            if (subsets.contains(ProductSubset.ALL)) {
+                subsets.clear();
+            }
+
+            log.info("Installing "+description+" to "+productHome+(subsets.isEmpty() ? "" : " - "+subsets));
+
+            // if a previous installation is recorded, only update what changed
+            //
+            File manifestFile = new File(markersDir, name+".manifest");
+            InstallManifest previousManifest = null;
+            if (incremental && markersFile.exists() && manifestFile.exists()) {
+                try {
+                    previousManifest = InstallManifest.read(manifestFile);
+                } catch (IOException e) {
+                    log.warn("Unable to read installation manifest, installing all files - "+e.getMessage());
+                }
+            }
+
+            // an interrupted installation must not be used as a base for the next one
+            //
+            if (manifestFile.exists() && !manifestFile.delete()) {
+                throw new MojoExecutionException("Unable to delete installation manifest "+manifestFile.getAbsolutePath());
+            }
+
+            // extract - old files are deleted by the extractor, this avoid permission
+            // issues when re-extracting
+            //
+            final List<ProductSubset> installed = subsets;
+            InstallManifest manifest = new ProductArchiveExtractor(sourceFile, productHome, threads, log)
+                .withStore(store == null ? null : new ProductStore(store))
+                .withFilter(installed.isEmpty() ? null : entry -> installed.stream().anyMatch(s -> s.matches(entry)))
+                .extract(previousManifest);
+
+            try {
+                manifest.write(manifestFile);
+            } catch (IOException e) {
+                log.warn("Unable to save installation manifest - "+e.getMessage());
+            }
+
+            // we installed this, so create a md5 and a fingerprint of original zip
+            //
+            String md5 = this.md5(sourceFile);
+            try (BufferedWriter output = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(markersFile), StandardCharsets.UTF_8))) {
+                output.write(md5);
+                output.newLine();
+                output.write(ProductFingerprint.of(sourceFile).toString());
+                for (ProductSubset installedSubset : installed) {
+                    output.newLine();
+                    output.write(installedSubset.toString());
+                }
+            } catch (IOException e) {
+                log.warn("Unable to save zip checksum - "+e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Install a subset of a product zip, only if part of the zip was
+     * previously installed by maven
+     *
+     * @param description Description of the zip for messages
+     * @param name        Unique name of the zip, used for the marker file
+     * @param sourceFile  The zip
+     * @param subset      The subset to install
+     * @param statusLog   True to log at info level that the zip is already installed
+     * @throws MojoExecutionException The installation failed
+     */
+    void complete(String description, String name, File sourceFile, ProductSubset subset, boolean statusLog)
+        throws MojoExecutionException {
+        if (new File(productHome, markersDirectory+File.separator+name+".marker").exists()) {
+            install(description, name, sourceFile, null, subset, statusLog);
+        }
+    }
+
+    // shared lock on an installation, or null if nothing was installed by maven
+    // or the markers directory cannot be written to - eg a read-only manual installation
+    //
+    private ProductLock sharedLock(File markersDir, File lockFile) throws MojoExecutionException {
+        if (!markersDir.isDirectory() || (!lockFile.exists() && !markersDir.canWrite())) {
+            return null;
+        }
+        return ProductLock.shared(lockFile, lockTimeoutMillis);
+    }
+
+    // return true if already installed, false otherwise
+    //
+    private boolean isInstalled(String description, File markersFile, File lockFile, File sourceFile, String validationFile,
+        ProductSubset subset, boolean statusLog) {
+        boolean forceReplace = false;
+        
+        if (markersFile.exists()) {
+            // if we have an md5 of the installation and its not the same as the zip we are installing, 
+            // install anyway
+            //
+            // this can happen with SNAPSHOT builds
+            //
+            Marker marker = new Marker();
+            if (markersFile.length() > 0) {
+                try {
+                    marker = readMarker(markersFile);
+                    if (marker.md5 == null) {
+                        log.warn("Unable to verify zip checksum");
+                    } else if (marker.fingerprint != null) {
+                        if (!marker.fingerprint.matches(sourceFile)) {
+                            log.warn("Previous installation at "+productHome+" is old - overwriting");
+                            forceReplace = true;
+                        } else if (verify) {
+                            verifyInBackground(markersFile, lockFile, sourceFile, marker.md5);
+                        }
+                    } else {
+                        // marker written by an older plugin, without fingerprint
+                        //
+                        String md5 = this.md5(sourceFile);
+                        if (!marker.md5.equals(md5)) {
+                            log.warn("Previous installation at "+productHome+" is old - overwriting");
+                            forceReplace = true;
+                        }
+                    }
+                } catch (IOException e) {
+                    log.warn("Unable to verify zip checksum - "+e.getMessage());
+                }
+            }
+
+            if (!forceReplace) {
+                if (marker.covers(subset)) {
+                    if (statusLog) {
+                        log.info(description+" already installed by maven to "+productHome);
+                    } else {
+                        log.debug(description+" already installed by maven to "+productHome);
+                    }
+                    return true;
+                }
+                log.info(description+" partially installed by maven to "+productHome+" - adding "+subset);
+            }
+
+        } else if (validationFile != null && new File(productHome, validationFile).exists()) {
+            log.info(description+" already installed manually to "+productHome);
+            return true;
+        }
+
+        if (!sourceFile.exists()) {
+            log.debug(sourceFile+" not downloaded yet ... skipping unpack");
+            return true;
+        }
+        
+        return false;
+    }
+
+    private static Marker readMarker(File markersFile) throws IOException {
+        Marker marker = new Marker();
+        try (BufferedReader input = new BufferedReader(new InputStreamReader(new FileInputStream(markersFile), StandardCharsets.UTF_8))) {
+            marker.md5 = input.readLine();
+            marker.fingerprint = ProductFingerprint.parse(input.readLine());
+            String line;
+            while ((line = input.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    marker.subsets.add(ProductSubset.parse(line));
+                }
+            }
+        }
+        return marker;
+    }
+
+    // check the md5 sum of an installed zip on a daemon thread - on mismatch the
+    // marker is removed so the next build installs the zip again, under the
+    // exclusive lock and only if no other build installed the zip meanwhile
+    //
+    private void verifyInBackground(final File markersFile, final File lockFile, final File sourceFile,
+        final String expectedMd5) {
+        if (!VERIFIED_MARKERS.add(markersFile.getAbsolutePath())) {
+            return;
+        }
+
+        final String home = productHome.toString();
+        Thread verifier = new Thread(() -> {
+            try {
+                String md5 = computeMd5(sourceFile);
+                if (!expectedMd5.equals(md5)) {
+                    try (ProductLock lock = ProductLock.exclusive(lockFile, lockTimeoutMillis)) {
+                        if (!markersFile.exists() || !expectedMd5.equals(readMarker(markersFile).md5)) {
+                            return;
+                        }
+                        log.warn("Installation at "+home+" doesn't match "+sourceFile+" - it will be installed again by the next build");
+                        if (!markersFile.delete()) {
+                            log.warn("Unable to delete marker file "+markersFile);
+                        }
+                    }
+                }
+            } catch (IOException | NoSuchAlgorithmException | MojoExecutionException e) {
+                log.warn("Unable to verify zip checksum - "+e.getMessage());
+            }
+        }, "ep-install-verify");
+        verifier.setDaemon(true);
+        verifier.start();
+    }
+
+    private String md5(final File sourceFile) {
+        
+        String md5 = "";
+        try {
+            md5 = computeMd5(sourceFile);
+        } catch (NoSuchAlgorithmException e) {
+            log.warn("Unable to save zip checksum - "+e.getMessage());
+        } catch (IOException e) {
+            log.warn("Unable to save zip checksum - "+e.getMessage());
+        }
+        
+        return md5;
+    }
+
+    private static String computeMd5(final File sourceFile) throws IOException, NoSuchAlgorithmException {
+        MessageDigest md5Local = MessageDigest.getInstance("MD5");
+        try (InputStream input = new FileInputStream(sourceFile)) {
+            byte[] buffer = new byte[64 * 1024];
+            int n;
+            while ((n = input.read(buffer)) != -1) {
+                md5Local.update(buffer, 0, n);
+            }
+        }
+        byte[] digest = md5Local.digest();
+        BigInteger bi = new BigInteger(1, digest);
+        return String.format("%0" + (digest.length << 1) + "X", bi);
+    }
+
+    // content of a marker file
+    //
+    private static final class Marker {
+        private String md5;
+        private ProductFingerprint fingerprint;
+        private final List<ProductSubset> subsets = new ArrayList<>();
+
+        // no subsets means the whole zip was installed
+        //
+        boolean covers(ProductSubset subset) {
+            return subsets.isEmpty() || subsets.contains(subset);
+        }
+    }
+}
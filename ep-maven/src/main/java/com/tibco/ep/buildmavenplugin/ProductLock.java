@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Reader/writer lock on a product installation.
+ * <p>
+ * Each lock is backed by a lock file, typically one per installed artifact.
+ * Shared locks are taken to check an installation and exclusive locks while
+ * it is written, so that builds that only read an installation don't wait
+ * for each other.
+ * <p>
+ * File locks are held on behalf of the whole JVM, so threads of the same
+ * Maven process are coordinated with an in-process read/write lock and share
+ * a single shared file lock.
+ * <p>
+ * Waits are blocking and bounded by a timeout - a timeout of 0 or less waits
+ * forever.
+ */
+final class ProductLock implements AutoCloseable {
+
+    private static final Map<String, LockState> STATES = new ConcurrentHashMap<>();
+
+    private static final ExecutorService LOCKERS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ep-product-lock");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LockState state;
+    private final boolean shared;
+    private boolean released;
+
+    private ProductLock(LockState state, boolean shared) {
+        this.state = state;
+        this.shared = shared;
+    }
+
+    /**
+     * Acquire a shared lock
+     *
+     * @param lockFile      Lock file, created if needed
+     * @param timeoutMillis Maximum time to wait in milliseconds
+     * @return The lock
+     * @throws MojoExecutionException Unable to acquire the lock
+     */
+    static ProductLock shared(File lockFile, long timeoutMillis) throws MojoExecutionException {
+        return acquire(lockFile, true, timeoutMillis);
+    }
+
+    /**
+     * Acquire an exclusive lock
+     *
+     * @param lockFile      Lock file, created if needed
+     * @param timeoutMillis Maximum time to wait in milliseconds
+     * @return The lock
+     * @throws MojoExecutionException Unable to acquire the lock
+     */
+    static ProductLock exclusive(File lockFile, long timeoutMillis) throws MojoExecutionException {
+        return acquire(lockFile, false, timeoutMillis);
+    }
+
+    private static ProductLock acquire(File lockFile, boolean shared, long timeoutMillis) throws MojoExecutionException {
+        LockState state;
+        try {
+            state = STATES.computeIfAbsent(lockFile.getCanonicalPath(), path -> new LockState(new File(path)));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to lock " + lockFile + ": " + e.getMessage(), e);
+        }
+
+        long deadline = timeoutMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis) : 0;
+
+        Lock jvmLock = shared ? state.jvmLock.readLock() : state.jvmLock.writeLock();
+        try {
+            if (deadline == 0) {
+                jvmLock.lockInterruptibly();
+            } else if (!jvmLock.tryLock(remaining(deadline), TimeUnit.NANOSECONDS)) {
+                throw timedOut(lockFile, timeoutMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while locking " + lockFile, e);
+        }
+
+        try {
+            state.lockFile(shared, deadline, timeoutMillis);
+        } catch (MojoExecutionException | RuntimeException e) {
+            jvmLock.unlock();
+            throw e;
+        }
+        return new ProductLock(state, shared);
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    private static MojoExecutionException timedOut(File lockFile, long timeoutMillis) {
+        return new MojoExecutionException("Timed out after " + timeoutMillis + "ms waiting for lock " + lockFile);
+    }
+
+    /**
+     * Release the lock
+     *
+     * @throws MojoExecutionException Unable to release the lock
+     */
+    @Override
+    public void close() throws MojoExecutionException {
+        if (released) {
+            return;
+        }
+        released = true;
+        try {
+            state.unlockFile();
+        } finally {
+            (shared ? state.jvmLock.readLock() : state.jvmLock.writeLock()).unlock();
+        }
+    }
+
+    // lock file state shared by the threads of this JVM
+    //
+    private static final class LockState {
+
+        private final File file;
+        private final ReentrantReadWriteLock jvmLock = new ReentrantReadWriteLock();
+
+        // guarded by this
+        private int holders;
+        private FileChannel channel;
+        private FileLock fileLock;
+
+        LockState(File file) {
+            this.file = file;
+        }
+
+        // only one thread holds the write lock, and threads holding the read lock
+        // share one file lock, so this is never called for an overlapping region
+        //
+        synchronized void lockFile(boolean shared, long deadline, long timeoutMillis) throws MojoExecutionException {
+            if (holders++ > 0) {
+                return;
+            }
+
+            FileChannel newChannel = null;
+            boolean locked = false;
+            try {
+                File parent = file.getParentFile();
+                if (parent != null && !parent.exists() && !parent.mkdirs() && !parent.exists()) {
+                    throw new IOException("Unable to create directory " + parent);
+                }
+                newChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+                final FileChannel lockChannel = newChannel;
+                Future<FileLock> pending = LOCKERS.submit(() -> lockChannel.lock(0L, Long.MAX_VALUE, shared));
+                try {
+                    fileLock = deadline == 0 ? pending.get() : pending.get(remaining(deadline), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    // closing the channel aborts the pending lock
+                    throw timedOut(file, timeoutMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new MojoExecutionException("Interrupted while locking " + file, e);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    throw new MojoExecutionException("Unable to lock " + file + ": " + cause.getMessage(), cause);
+                }
+                channel = newChannel;
+                locked = true;
+
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to lock " + file + ": " + e.getMessage(), e);
+            } finally {
+                if (!locked) {
+                    holders--;
+                    if (newChannel != null) {
+                        try {
+                            newChannel.close();
+                        } catch (IOException e) {
+                            // nothing more we can do
+                        }
+                    }
+                }
+            }
+        }
+
+        synchronized void unlockFile() throws MojoExecutionException {
+            if (--holders > 0) {
+                return;
+            }
+
+            try {
+                fileLock.release();
+                channel.close();
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to release lock " + file + ": " + e.getMessage(), e);
+            } finally {
+                fileLock = null;
+                channel = null;
+            }
+        }
+    }
+}
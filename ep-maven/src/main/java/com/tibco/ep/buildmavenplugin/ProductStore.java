@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * A content-addressed store of extracted product files.
+ * <p>
+ * Each distinct archive entry content is written once in the store, keyed by
+ * its CRC, size and mode (from the zip central directory) and its file name.
+ * As these do not identify the content, a stored file is only used once its
+ * content has been compared with the entry; on a mismatch the file is written
+ * directly. Product homes are then populated with hard links to the stored
+ * files, so that installing another version of a product only writes the
+ * files that differ. If a hard link cannot be created (different file systems,
+ * unsupported file system), the stored file is copied instead.
+ * <p>
+ * The modification time and permissions are set on the stored file, before
+ * it is moved in the store and linked, and never on a linked file: every
+ * product home linked to a stored file gets the attributes of its first entry.
+ * Files of a product home populated from the store must not be modified in
+ * place, since they share their content with every other product home linked to
+ * the same stored file. Re-installations are safe: the extraction always
+ * deletes a file before re-creating it.
+ * <p>
+ * Several processes can populate the store concurrently: stored files are
+ * written to a temporary file and then atomically moved in place.
+ */
+final class ProductStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+
+    /**
+     * Content of an archive entry
+     */
+    interface Content {
+
+        /**
+         * Write the content, without setting any attribute
+         *
+         * @param path The file to create
+         * @throws IOException Could not write the file
+         */
+        void write(Path path) throws IOException;
+
+        /**
+         * @return A stream of the content
+         * @throws IOException Could not read the content
+         */
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * @param directory The store directory
+     */
+    ProductStore(File directory) {
+        this.directory = directory.getAbsoluteFile().toPath();
+    }
+
+    /**
+     * Create a file from the store, adding its content to the store if needed
+     *
+     * @param entry   The archive entry
+     * @param target  The file to create, which must not exist
+     * @param content The content of the entry
+     * @return True if the content had to be written, false if it was linked or
+     * copied from the store
+     * @throws IOException Could not write or link the file
+     */
+    boolean link(ZipArchiveEntry entry, Path target, Content content) throws IOException {
+
+        Path stored = directory.resolve(key(entry));
+        boolean written = false;
+
+        if (!Files.exists(stored)) {
+            Files.createDirectories(stored.getParent());
+            Path temporary = stored.resolveSibling("." + UUID.randomUUID() + ".tmp");
+            try {
+                content.write(temporary);
+                ProductArchiveExtractor.setAttributes(entry, temporary);
+                Files.move(temporary, stored, StandardCopyOption.ATOMIC_MOVE);
+                written = true;
+            } catch (FileAlreadyExistsException e) {
+                //  Stored concurrently.
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+
+        //  Another content with the same key.
+        //
+        if (!written && !hasContent(stored, content)) {
+            content.write(target);
+            ProductArchiveExtractor.setAttributes(entry, target);
+            return true;
+        }
+
+        try {
+            Files.createLink(target, stored);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(stored, target, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+
+        return written;
+    }
+
+    /**
+     * @param entry The archive entry
+     * @return The relative path of the entry content in the store
+     */
+    static String key(ZipArchiveEntry entry) {
+        String crc = String.format("%08x", entry.getCrc());
+        String name = entry.getName();
+        name = name.substring(name.lastIndexOf('/') + 1);
+
+        return crc.substring(0, 2) + File.separator + crc
+            + "-" + entry.getSize()
+            + "-" + Integer.toOctalString(entry.getUnixMode())
+            + "-" + name;
+    }
+
+    private static boolean hasContent(Path stored, Content content) throws IOException {
+        try (InputStream expected = content.open();
+             InputStream actual = Files.newInputStream(stored)) {
+            byte[] expectedBuffer = new byte[BUFFER_SIZE];
+            byte[] actualBuffer = new byte[BUFFER_SIZE];
+            while (true) {
+                int n = expected.readNBytes(expectedBuffer, 0, BUFFER_SIZE);
+                if (actual.readNBytes(actualBuffer, 0, BUFFER_SIZE) != n
+                    || !Arrays.equals(expectedBuffer, 0, n, actualBuffer, 0, n)) {
+                    return false;
+                }
+                if (n < BUFFER_SIZE) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.codehaus.plexus.util.SelectorUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A subset of a product archive, defined by include and exclude path patterns.
+ * <p>
+ * Patterns use the usual Ant syntax (<code>*</code>, <code>**</code> and
+ * <code>?</code>) and are matched against archive entry names. No includes
+ * means all entries are included.
+ * <p>
+ * The string form lists the patterns separated by <code>|</code>, each
+ * prefixed by <code>+</code> for includes or <code>-</code> for excludes.
+ */
+final class ProductSubset {
+
+    /**
+     * The whole product
+     */
+    static final ProductSubset ALL = new ProductSubset(Collections.emptyList(), Collections.emptyList());
+
+    /**
+     * What code generation needs - the StreamBase server and container jars
+     */
+    static final ProductSubset GENERATE = new ProductSubset(List.of(
+        "distrib/tibco/sb/**",
+        "distrib/tibco/lib/**"), Collections.emptyList());
+
+    /**
+     * What administration needs - the DTM management tree and epadmin
+     */
+    static final ProductSubset ADMIN = new ProductSubset(List.of(
+        "distrib/tibco/dtm/**",
+        "distrib/tibco/devbin/**",
+        "distrib/tibco/lib/**"), Collections.emptyList());
+
+    private final List<String> includes;
+    private final List<String> excludes;
+
+    private ProductSubset(List<String> includes, List<String> excludes) {
+        this.includes = includes;
+        this.excludes = excludes;
+    }
+
+    /**
+     * Create a subset from patterns
+     *
+     * @param includes Include patterns, null or empty for all entries
+     * @param excludes Exclude patterns, may be null
+     * @return The subset
+     */
+    static ProductSubset of(List<String> includes, List<String> excludes) {
+        return new ProductSubset(normalize(includes), normalize(excludes));
+    }
+
+    /**
+     * Get a named install profile
+     *
+     * @param profile One of full, generate or admin
+     * @return The subset
+     * @throws IllegalArgumentException Unknown profile
+     */
+    static ProductSubset forProfile(String profile) {
+        switch (profile.toLowerCase(Locale.ROOT)) {
+            case "full":
+                return ALL;
+            case "generate":
+                return GENERATE;
+            case "admin":
+                return ADMIN;
+            default:
+                throw new IllegalArgumentException("Unknown install profile " + profile
+                    + ", expected one of full, generate or admin");
+        }
+    }
+
+    /**
+     * Parse the string form of a subset
+     *
+     * @param value The string form
+     * @return The subset
+     */
+    static ProductSubset parse(String value) {
+        List<String> includes = new ArrayList<>();
+        List<String> excludes = new ArrayList<>();
+        for (String pattern : value.split("\\|")) {
+            if (pattern.startsWith("+")) {
+                includes.add(pattern.substring(1));
+            } else if (pattern.startsWith("-")) {
+                excludes.add(pattern.substring(1));
+            }
+        }
+        return of(includes, excludes);
+    }
+
+    /**
+     * @return True if this subset is the whole product
+     */
+    boolean isAll() {
+        return includes.isEmpty() && excludes.isEmpty();
+    }
+
+    /**
+     * Check if an archive entry is part of this subset.
+     * <p>
+     * Directory entries match the patterns of their content, so that
+     * <code>distrib/tibco/sb/**</code> includes <code>distrib/tibco/sb/</code>.
+     *
+     * @param name The entry name
+     * @return True if the entry is part of this subset
+     */
+    boolean matches(String name) {
+        String path = name.endsWith("/") ? name.substring(0, name.length() - 1) : name;
+        return (includes.isEmpty() || matchesAny(includes, path)) && !matchesAny(excludes, path);
+    }
+
+    private static boolean matchesAny(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (SelectorUtils.matchPath(pattern, path, "/", true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> normalize(List<String> patterns) {
+        List<String> normalized = new ArrayList<>();
+        if (patterns != null) {
+            for (String pattern : patterns) {
+                String trimmed = pattern.trim().replace('\\', '/');
+                if (trimmed.endsWith("/")) {
+                    trimmed += "**";
+                }
+                if (!trimmed.isEmpty()) {
+                    normalized.add(trimmed);
+                }
+            }
+        }
+        return Collections.unmodifiableList(normalized);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductSubset)) {
+            return false;
+        }
+        ProductSubset that = (ProductSubset) o;
+        return includes.equals(that.includes) && excludes.equals(that.excludes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(includes, excludes);
+    }
+
+    @Override
+    public String toString() {
+        List<String> patterns = new ArrayList<>();
+        includes.forEach(pattern -> patterns.add("+" + pattern));
+        excludes.forEach(pattern -> patterns.add("-" + pattern));
+        return String.join("|", patterns);
+    }
+}
@@ -40,6 +40,8 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * An object representing the module data: the list of interfaces and modules.
@@ -53,10 +55,11 @@ public class ProjectModuleData {
     private static final String SBAPP_EXTENSION = ".sbapp";
     private static final String SBINT_EXTENSION = ".sbint";
 
-    private final StringBuilder modules = new StringBuilder();
-    private final StringBuilder interfaces = new StringBuilder();
-    private boolean modulesIsEmpty = true;
-    private boolean interfacesIsEmpty = true;
+    //  Sorted, so that the lists don't depend on the order of the build
+    //  notifications, which can come from several threads.
+    //
+    private final Set<String> modules = new TreeSet<>();
+    private final Set<String> interfaces = new TreeSet<>();
 
     /**
      * @param project The project
@@ -64,12 +67,12 @@ public class ProjectModuleData {
      * @throws MojoExecutionException Couldn't read the file
      */
     static ProjectModuleData read(MavenProject project) throws MojoExecutionException {
-        File modulesFile = Paths.get(project.getBuild().getDirectory(), MODULES_FILE).toFile();
+        File modulesFile = file(project);
 
         ProjectModuleData result = new ProjectModuleData();
         try (BufferedReader reader = new BufferedReader(new FileReader(modulesFile))) {
-            result.modules.append(reader.readLine());
-            result.interfaces.append(reader.readLine());
+            result.addAll(result.modules, reader.readLine());
+            result.addAll(result.interfaces, reader.readLine());
 
         } catch (IOException exception) {
             throw new MojoExecutionException("Couldn't read from file: " + modulesFile, exception);
@@ -78,30 +81,56 @@ public class ProjectModuleData {
         return result;
     }
 
+    /**
+     * @param project The project
+     * @return True if the module data file exists in target
+     */
+    static boolean exists(MavenProject project) {
+        return file(project).isFile();
+    }
+
+    /**
+     * @param project The project
+     * @return The module data file in target
+     */
+    static File file(MavenProject project) {
+        return Paths.get(project.getBuild().getDirectory(), MODULES_FILE).toFile();
+    }
+
+    /**
+     * Add the modules and interfaces of previous data
+     *
+     * @param previous The previous data
+     * @param removed  The names of the modules and interfaces to leave out
+     */
+    synchronized void addModules(ProjectModuleData previous, Set<String> removed) {
+        for (String module : previous.getModules().split(" ")) {
+            if (!module.isEmpty() && !removed.contains(module)) {
+                modules.add(module);
+            }
+        }
+        for (String module : previous.getInterfaces().split(" ")) {
+            if (!module.isEmpty() && !removed.contains(module)) {
+                interfaces.add(module);
+            }
+        }
+    }
+
     /**
      * Add a module
      *
      * @param entityTypeName The module name
      * @param extension      The extension
      */
-    void addModule(String entityTypeName, String extension) {
+    synchronized void addModule(String entityTypeName, String extension) {
 
         if (SBINT_EXTENSION.equals(extension)) {
-
-            if (!interfacesIsEmpty) {
-                interfaces.append(" ");
-            }
-            interfaces.append(entityTypeName);
-            interfacesIsEmpty = false;
+            interfaces.add(entityTypeName);
             return;
         }
 
         assert SBAPP_EXTENSION.equals(extension) : extension + " for " + entityTypeName;
-        if (!modulesIsEmpty) {
-            modules.append(" ");
-        }
-        modules.append(entityTypeName);
-        modulesIsEmpty = false;
+        modules.add(entityTypeName);
     }
 
     /**
@@ -111,12 +140,12 @@ public class ProjectModuleData {
      * @throws MojoExecutionException Could not write the file
      */
     void write(MavenProject project) throws MojoExecutionException {
-        File modulesFile = Paths.get(project.getBuild().getDirectory(), MODULES_FILE).toFile();
+        File modulesFile = file(project);
 
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(modulesFile))) {
 
-            writer.write(modules + "\n");
-            writer.write(interfaces + "\n");
+            writer.write(getModules() + "\n");
+            writer.write(getInterfaces() + "\n");
 
         } catch (IOException exception) {
             throw new MojoExecutionException("Couldn't write to file: " + modulesFile, exception);
@@ -126,14 +155,24 @@ public class ProjectModuleData {
     /**
      * @return The space separated module list
      */
-    public String getModules() {
-        return modules.toString();
+    public synchronized String getModules() {
+        return String.join(" ", modules);
     }
 
     /**
      * @return The space separated interface list
      */
-    public String getInterfaces() {
-        return interfaces.toString();
+    public synchronized String getInterfaces() {
+        return String.join(" ", interfaces);
+    }
+
+    private void addAll(Set<String> names, String line) {
+        if (line != null) {
+            for (String name : line.split(" ")) {
+                if (!name.isEmpty()) {
+                    names.add(name);
+                }
+            }
+        }
     }
 }
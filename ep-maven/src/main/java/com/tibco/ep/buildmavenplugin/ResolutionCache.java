@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Resolution results of the projects of a Maven session, such as the resolved
+ * project dependencies and the product version.
+ * <p>
+ * Results are kept per project, keyed by {@link SessionRegistry#projectKey(MavenProject)},
+ * which includes the declared and managed dependencies, so that a project
+ * whose dependencies change is resolved again.
+ */
+final class ResolutionCache {
+
+    private final Map<String, Map<String, Object>> projects = new ConcurrentHashMap<>();
+
+    /**
+     * Get the resolution cache of a session
+     *
+     * @param session The session, may be null
+     * @return The cache, a new instance if there is no session
+     */
+    static ResolutionCache get(MavenSession session) {
+        return SessionRegistry.get(session, ResolutionCache.class, ResolutionCache::new);
+    }
+
+    /**
+     * Get a resolution result of a project, resolving it if needed.
+     * <p>
+     * Resolvers may get other results of the same project. Concurrent calls
+     * may resolve the same result more than once, the first stored result
+     * is returned.
+     *
+     * @param project  The project
+     * @param name     Name of the result
+     * @param resolver Resolves the result, must not return null
+     * @param <T>      The type of the result
+     * @return The result
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(MavenProject project, String name, Supplier<T> resolver) {
+        Map<String, Object> results = projects.computeIfAbsent(SessionRegistry.projectKey(project),
+            key -> new ConcurrentHashMap<>());
+
+        //  Not computeIfAbsent, since resolvers may call back for another result.
+        //
+        Object result = results.get(name);
+        if (result == null) {
+            Object resolved = resolver.get();
+            result = results.putIfAbsent(name, resolved);
+            if (result == null) {
+                result = resolved;
+            }
+        }
+        return (T) result;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.SessionData;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Objects shared by the mojo executions of a Maven session.
+ * <p>
+ * Objects are kept in the repository session data, keyed by their class name.
+ */
+final class SessionRegistry {
+
+    private SessionRegistry() {
+    }
+
+    /**
+     * Get the instance of a class shared in a session, creating it if needed
+     *
+     * @param session The session, may be null
+     * @param type    The class of the instance
+     * @param factory Creates the instance
+     * @param <T>     The type of the instance
+     * @return The shared instance, or a new unshared instance if there is no session
+     */
+    static <T> T get(MavenSession session, Class<T> type, Supplier<T> factory) {
+        if (session == null || session.getRepositorySession() == null) {
+            return factory.get();
+        }
+
+        SessionData data = session.getRepositorySession().getData();
+        String key = type.getName();
+        Object instance = data.get(key);
+        while (instance == null) {
+            data.set(key, null, factory.get());
+            instance = data.get(key);
+        }
+
+        //  Another version of this plugin, in another class realm, may have registered first.
+        //
+        return type.isInstance(instance) ? type.cast(instance) : factory.get();
+    }
+
+    /**
+     * Key identifying a project and its dependencies.
+     * <p>
+     * The key is made of the project id and its declared and managed
+     * dependencies, so it changes when a plugin changes the dependencies.
+     *
+     * @param project The project
+     * @return The key
+     */
+    static String projectKey(MavenProject project) {
+        StringBuilder key = new StringBuilder(project.getId()).append('|');
+        append(key, project.getDependencies());
+        key.append('|');
+        if (project.getDependencyManagement() != null) {
+            append(key, project.getDependencyManagement().getDependencies());
+        }
+        return key.toString();
+    }
+
+    private static void append(StringBuilder key, List<Dependency> dependencies) {
+        if (dependencies == null) {
+            return;
+        }
+        for (Dependency dependency : dependencies) {
+            key.append(dependency.getManagementKey())
+                .append(':').append(dependency.getVersion())
+                .append(':').append(dependency.getScope())
+                .append(':').append(dependency.isOptional());
+            for (Exclusion exclusion : dependency.getExclusions()) {
+                key.append('!').append(exclusion.getGroupId()).append(':').append(exclusion.getArtifactId());
+            }
+            key.append(';');
+        }
+    }
+}
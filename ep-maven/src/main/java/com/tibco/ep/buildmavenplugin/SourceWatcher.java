@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watch source directory trees for changes.
+ * <p>
+ * Directories created under the watched roots are watched as they appear.
+ * Changes are debounced: a burst of events, such as an editor saving several
+ * files, is reported once the file system has been quiet for a while.
+ */
+final class SourceWatcher implements Closeable {
+
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+
+    /**
+     * Start watching
+     *
+     * @param roots The directory trees to watch, the missing ones are ignored
+     * @throws IOException Unable to watch a directory
+     */
+    SourceWatcher(List<Path> roots) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        try {
+            for (Path root : roots) {
+                register(root);
+            }
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The number of watched directories
+     */
+    int size() {
+        return directories.size();
+    }
+
+    /**
+     * Wait for changes
+     *
+     * @param timeoutMillis  The maximum time to wait for a first change
+     * @param debounceMillis The time without events ending a burst of changes
+     * @return The changed paths, empty on timeout
+     * @throws IOException          Unable to watch a new directory
+     * @throws InterruptedException Interrupted while waiting
+     */
+    Set<Path> poll(long timeoutMillis, long debounceMillis) throws IOException, InterruptedException {
+        Set<Path> changes = new TreeSet<>();
+
+        WatchKey key = watchService.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        while (key != null) {
+            process(key, changes);
+            key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+        }
+        return changes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void process(WatchKey key, Set<Path> changes) throws IOException {
+        Path directory = directories.get(key);
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || directory == null) {
+
+                //  Events were lost, report the directory itself.
+                //
+                changes.add(directory == null ? Path.of("") : directory);
+                continue;
+            }
+
+            Path path = directory.resolve((Path) event.context());
+            changes.add(path);
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                register(path);
+
+                //  Files created before the directory was watched.
+                //
+                try (Stream<Path> walk = Files.walk(path)) {
+                    changes.addAll(walk.collect(Collectors.toList()));
+                }
+            }
+        }
+
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+    }
+
+    private void register(Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(root)) {
+            paths = walk.filter(Files::isDirectory).collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            directories.put(path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), path);
+        }
+    }
+}
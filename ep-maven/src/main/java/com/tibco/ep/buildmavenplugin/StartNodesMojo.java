@@ -203,6 +203,10 @@ public class StartNodesMojo extends BaseExecuteMojo {
             return;
         }
 
+        // nodes run from the whole product
+        //
+        requireProduct(ProductSubset.ALL);
+
         initializeService(PlatformService.ADMINISTRATION, ErrorHandling.FAIL);
 
         boolean staticDiscovery = false;
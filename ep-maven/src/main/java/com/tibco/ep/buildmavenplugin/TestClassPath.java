@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * Test node classpath, without duplicates.
+ * <p>
+ * Elements are kept in their first position, so that the classpath
+ * resolves classes the same way as the original. The classpath can also be
+ * written as a manifest-only pathing jar, so that the node JVM is given a
+ * single classpath element.
+ */
+final class TestClassPath {
+
+    private final List<String> elements;
+
+    /**
+     * @param elements The classpath elements
+     */
+    TestClassPath(List<String> elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * Build a classpath from a path separated string, dropping empty and
+     * duplicate elements
+     *
+     * @param classPath The classpath string
+     * @return The classpath
+     */
+    static TestClassPath of(String classPath) {
+        Map<String, String> elements = new LinkedHashMap<>();
+        for (String element : classPath.split(File.pathSeparator)) {
+            if (!element.isEmpty()) {
+                elements.putIfAbsent(new File(element).getAbsoluteFile().toPath().normalize().toString(), element);
+            }
+        }
+        return new TestClassPath(new ArrayList<>(elements.values()));
+    }
+
+    /**
+     * @return The classpath elements
+     */
+    List<String> getElements() {
+        return elements;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(File.pathSeparator, elements);
+    }
+
+    /**
+     * Write the classpath as a manifest-only jar.
+     * <p>
+     * The jar is left untouched if it already lists the same classpath.
+     *
+     * @param jar The jar file
+     * @return The jar file
+     * @throws IOException Unable to write the jar
+     */
+    File writePathingJar(File jar) throws IOException {
+        List<String> urls = new ArrayList<>();
+        for (String element : elements) {
+            urls.add(new File(element).getAbsoluteFile().toURI().toString());
+        }
+
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, String.join(" ", urls));
+
+        if (manifest.equals(readManifest(jar))) {
+            return jar;
+        }
+
+        Path path = jar.toPath().toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Path temporary = Files.createTempFile(path.getParent(), jar.getName(), ".tmp");
+        try {
+            try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(temporary), manifest)) {
+                output.flush();
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return jar;
+    }
+
+    private static Manifest readManifest(File jar) {
+        if (!jar.isFile()) {
+            return null;
+        }
+        try (JarFile jarFile = new JarFile(jar)) {
+            return jarFile.getManifest();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Resolved test dependencies of a project, saved between builds.
+ * <p>
+ * The saved classpath is keyed by a hash of the project dependencies, its
+ * managed versions and the plugin version, and is only reused while all
+ * its files still exist.
+ */
+final class TestClassPathCache {
+
+    private static final String KEY = "key";
+    private static final String CLASSPATH = "classpath";
+
+    private final File cacheFile;
+
+    /**
+     * @param cacheFile The file holding the saved classpath
+     */
+    TestClassPathCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Compute the key of a project test classpath
+     *
+     * @param project       The project
+     * @param pluginVersion The plugin version
+     * @return The key
+     */
+    static String key(MavenProject project, String pluginVersion) {
+        StringBuilder key = new StringBuilder(SessionRegistry.projectKey(project)).append('|');
+
+        Map<String, Artifact> managedVersions = project.getManagedVersionMap();
+        if (managedVersions != null) {
+            new TreeMap<>(managedVersions).forEach((name, artifact) ->
+                key.append(name).append(':').append(artifact.getVersion()).append(';'));
+        }
+        key.append('|').append(pluginVersion);
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return String.format("%0" + (digest.length << 1) + "x", new BigInteger(1, digest));
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(key.toString().hashCode());
+        }
+    }
+
+    /**
+     * Read the saved classpath
+     *
+     * @param key The expected key
+     * @return The classpath, empty if not saved, saved with another key or if a file no longer exists
+     */
+    Optional<List<String>> read(String key) {
+        if (!cacheFile.isFile()) {
+            return Optional.empty();
+        }
+
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(cacheFile.toPath())) {
+            properties.load(input);
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        String classPath = properties.getProperty(CLASSPATH);
+        if (!key.equals(properties.getProperty(KEY)) || classPath == null) {
+            return Optional.empty();
+        }
+
+        List<String> elements = classPath.isEmpty()
+            ? Collections.emptyList()
+            : Arrays.asList(classPath.split(File.pathSeparator));
+        for (String element : elements) {
+            if (!new File(element).exists()) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(elements);
+    }
+
+    /**
+     * Save a classpath
+     *
+     * @param key       The key
+     * @param classPath The classpath elements
+     * @throws IOException Unable to write the file
+     */
+    void write(String key, List<String> classPath) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(KEY, key);
+        properties.setProperty(CLASSPATH, String.join(File.pathSeparator, classPath));
+
+        Path target = cacheFile.toPath();
+        Files.createDirectories(target.getParent());
+        Path temporary = Files.createTempFile(target.getParent(), cacheFile.getName(), ".tmp");
+        try {
+            try (OutputStream output = Files.newOutputStream(temporary)) {
+                properties.store(output, "Resolved test classpath");
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.tibco.ep.sb.services.build.BuildTarget;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * <p>Watch the EventFlow sources and regenerate java sources on changes</p>
+ *
+ * <p>The goal generates the main and test EventFlows, then watches the
+ * EventFlow and configuration directories until interrupted. After each burst
+ * of changes, only the changed modules are passed to the build service, which
+ * regenerates them and the modules depending on them. The test EventFlows are
+ * only generated again when test sources changed or main modules were
+ * generated. The build service stays loaded between generations, and results
+ * are reported as they complete.</p>
+ *
+ * <p>Generation failures are reported and watching continues.</p>
+ *
+ * <p>Example use on commandline:</p>
+ * <pre>
+ *     mvn ep:watch
+ * </pre>
+ */
+@Mojo(name = "watch", threadSafe = false)
+public class WatchEventFlowMojo extends BaseGenerateMojo {
+
+    /**
+     * <p>Time in milliseconds without file system events before a burst of
+     * changes is regenerated.</p>
+     *
+     * <p>Example use on commandline:</p>
+     * <pre>
+     *     mvn ep:watch -DwatchDebounce=1000
+     * </pre>
+     *
+     * @since 2.3.0
+     */
+    @Parameter(property = "watchDebounce", defaultValue = "300")
+    long watchDebounce;
+
+    /**
+     * Public constructor
+     */
+    public WatchEventFlowMojo() {
+        super(BuildTarget.MAIN);
+    }
+
+    @Override
+    public void execute() throws MojoExecutionException {
+
+        //  Always incremental: this is what makes a round fast.
+        //
+        incrementalGeneration = true;
+
+        //  The build service is loaded once, then the initial generation.
+        //
+        if (!initializeGeneration()) {
+            return;
+        }
+        generateRound(BuildTarget.MAIN);
+        generateTests();
+
+        List<Path> testRoots = new ArrayList<>();
+        Stream.of(testEventflowDirectories).forEach(directory -> testRoots.add(directory.toPath()));
+        testRoots.add(testConfigurationDirectory.toPath());
+
+        List<Path> roots = new ArrayList<>();
+        Stream.of(eventflowDirectories).forEach(directory -> roots.add(directory.toPath()));
+        roots.add(configurationDirectory.toPath());
+        roots.addAll(testRoots);
+
+        try (SourceWatcher watcher = new SourceWatcher(roots)) {
+            getLog().info("Watching " + watcher.size() + " director" + (watcher.size() == 1 ? "y" : "ies")
+                + " for EventFlow changes, interrupt to stop");
+
+            while (true) {
+                Set<Path> changes = watcher.poll(Long.MAX_VALUE, watchDebounce);
+                if (changes.isEmpty()) {
+                    continue;
+                }
+
+                getLog().info(changes.size() + " file" + (changes.size() == 1 ? "" : "s") + " changed");
+                changes.forEach(path -> getLog().debug("  " + path));
+
+                //  Test modules depend on the main modules: they are generated
+                //  again when the main modules were, or when test sources changed.
+                //
+                boolean mainGenerated = generateRound(BuildTarget.MAIN);
+                if (affectsTests(changes, testRoots, mainGenerated)) {
+                    generateTests();
+                }
+            }
+
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to watch the EventFlow sources: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            getLog().info("Stopped watching");
+        }
+    }
+
+    private void generateTests() {
+        if (Stream.of(testEventflowDirectories).anyMatch(File::isDirectory)) {
+            generateRound(BuildTarget.TEST);
+        }
+    }
+
+    /**
+     * Check if the test modules must be generated after a burst of changes
+     *
+     * @param changes       The changed files
+     * @param testRoots     The test EventFlow and configuration directories
+     * @param mainGenerated True if main modules were generated for the changes
+     * @return True if the test modules must be generated
+     */
+    static boolean affectsTests(Set<Path> changes, List<Path> testRoots, boolean mainGenerated) {
+        if (mainGenerated) {
+            return true;
+        }
+
+        //  An empty path reports lost events of an unknown directory.
+        //
+        return changes.stream().anyMatch(path -> path.toString().isEmpty()
+            || testRoots.stream().anyMatch(root -> path.toAbsolutePath().startsWith(root.toAbsolutePath())));
+    }
+
+    //  True unless the generated sources were up to date: a failed
+    //  generation may have generated some modules.
+    //
+    private boolean generateRound(BuildTarget target) {
+        try {
+            return generate(target);
+        } catch (MojoExecutionException e) {
+            getLog().error(e.getMessage());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.tibco.ep.sb.services.build.BuildExceptionDetails;
+import com.tibco.ep.sb.services.build.BuildParameters;
+import com.tibco.ep.sb.services.build.BuildPhase;
+import com.tibco.ep.sb.services.build.BuildResult;
+import com.tibco.ep.sb.services.build.BuildTarget;
+import com.tibco.ep.sb.services.build.IBuildNotifier;
+import com.tibco.ep.sb.services.build.IRuntimeBuildService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for {@link BuildDaemon}
+ */
+public class BuildDaemonTest {
+
+    /**
+     * Temporary folder
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Builds run in the daemon, with the notifier events sent back
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testBuild() throws Exception {
+        File daemonFile = new File(folder.getRoot(), "ep-build-daemon-1.0.0.properties");
+        SystemStreamLog log = new SystemStreamLog();
+        FakeBuildService service = new FakeBuildService();
+
+        assertThat(BuildDaemon.connect(daemonFile, log)).isNull();
+
+        BuildDaemon daemon = new BuildDaemon(service, daemonFile, 0, log);
+        Thread thread = new Thread(daemon::run);
+        thread.start();
+        try {
+            IRuntimeBuildService client = BuildDaemon.connect(daemonFile, log);
+            assertThat(client).isNotNull();
+
+            Path dependency = folder.newFile("dependency.jar").toPath();
+            Path buildDirectory = folder.newFolder("target").toPath();
+            BuildParameters parameters = new BuildParameters()
+                .withBuildDirectory(buildDirectory)
+                .withEngineDataArea(buildDirectory.resolve("tmp"))
+                .withSourcePaths(Collections.singletonList(Paths.get("src/main/eventflow")))
+                .withCompilerProperties(Collections.singletonMap("key", "value"))
+                .withFullBuild(false)
+                .withChangedModules(Collections.singletonList(Paths.get("src/main/eventflow/a.sbapp")));
+            parameters.getDependenciesTestCompileClassPath().add(dependency);
+
+            List<String> events = new ArrayList<>();
+            List<BuildResult> results = new ArrayList<>();
+            client.build("project", BuildTarget.TEST, parameters, new IBuildNotifier() {
+                @Override
+                public void onBuildStarted(int nbModules) {
+                    events.add("started " + nbModules);
+                }
+
+                @Override
+                public void onStarted(String entityName, String entityExtension) {
+                    events.add("module " + entityName + "." + entityExtension);
+                }
+
+                @Override
+                public void onBuildCompleted() {
+                    events.add("completed");
+                }
+
+                @Override
+                public void onCompleted(BuildResult result) {
+                    results.add(result);
+                }
+            });
+
+            assertThat(service.parameters.getSourcePaths()).containsExactly(Paths.get("src/main/eventflow"));
+            assertThat(service.parameters.getDependenciesTestCompileClassPath()).containsExactly(dependency);
+            assertThat(service.parameters.getCompilerProperties()).containsEntry("key", "value");
+            assertThat(service.parameters.isFullBuild()).isFalse();
+            assertThat(service.parameters.getChangedModules()).containsExactly(Paths.get("src/main/eventflow/a.sbapp"));
+            assertThat(service.parameters.getRemovedModules()).isEmpty();
+            assertThat(service.parameters.getEngineDataArea()).isEqualTo(buildDirectory.resolve("tmp"));
+            assertThat(buildDirectory.resolve("tmp")).isDirectory();
+
+            assertThat(events).containsExactly("started 2", "module a.sbapp", "module b.sbapp", "completed");
+            assertThat(results).hasSize(2);
+            assertThat(results.get(0).getException()).isEmpty();
+            assertThat(results.get(0).getElapsedTimeMillis()).isEqualTo(12);
+            assertThat(results.get(0).getPhaseTimesMillis()).containsOnly(entry(BuildPhase.TYPECHECK, 7L));
+
+            Exception failure = results.get(1).getException().get();
+            assertThat(failure.toString()).isEqualTo("java.lang.IllegalArgumentException: bad module");
+            assertThat(failure.getStackTrace()).isNotEmpty();
+            assertThat(client.getDetails(failure)).extracting(BuildExceptionDetails::getShortMessage)
+                .containsExactly("bad module");
+
+            assertThat(BuildDaemon.stop(daemonFile, log)).isTrue();
+            thread.join(10000);
+            assertThat(thread.isAlive()).isFalse();
+            assertThat(daemonFile).doesNotExist();
+        } finally {
+            daemon.close();
+        }
+    }
+
+    private static class FakeBuildService implements IRuntimeBuildService {
+
+        private BuildParameters parameters;
+
+        @Override
+        public void build(String name, BuildTarget buildTarget, BuildParameters parameters, IBuildNotifier notifier) {
+            this.parameters = parameters;
+            notifier.onBuildStarted(2);
+            notifier.onStarted("a", "sbapp");
+            notifier.onCompleted(new BuildResult().withEntityName("a").withElapsedTimeMillis(12)
+                .withPhaseTimeMillis(BuildPhase.TYPECHECK, 7));
+            notifier.onStarted("b", "sbapp");
+            notifier.onCompleted(new BuildResult().withEntityName("b")
+                .withException(new IllegalArgumentException("bad module")));
+            notifier.onBuildCompleted();
+        }
+
+        @Override
+        public List<BuildExceptionDetails> getDetails(Exception exception) {
+            return Collections.singletonList(new BuildExceptionDetails().withShortMessage(exception.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ClassDataSharing}
+ */
+public class ClassDataSharingTest {
+
+    /**
+     * Temporary folder
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Jars are moved before directories, unless a directory shadows a later jar
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testArrange() throws Exception {
+        File classes = folder.newFolder("classes");
+        File jar = jar("dependency.jar", "lib/Lib.class");
+
+        List<String> arranged = ClassDataSharing.arrange(Arrays.asList(classes.getPath(), jar.getPath()));
+        assertThat(arranged).containsExactly(jar.getPath(), classes.getPath());
+        assertThat(ClassDataSharing.getArchivedElements(arranged)).containsExactly(jar.getPath());
+
+        Files.createDirectories(classes.toPath().resolve("lib"));
+        Files.write(classes.toPath().resolve("lib/Lib.class"), new byte[]{1});
+        assertThat(ClassDataSharing.arrange(Arrays.asList(classes.getPath(), jar.getPath()))).isNull();
+        assertThat(ClassDataSharing.arrange(Arrays.asList(jar.getPath(), classes.getPath())))
+            .containsExactly(jar.getPath(), classes.getPath());
+    }
+
+    /**
+     * Test JVMs loading classes from a directory record a class list, then use
+     * the archive dumped from it
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testArchive() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        File sources = folder.newFolder("src");
+        File classes = folder.newFolder("classes");
+        File libClasses = folder.newFolder("lib-classes");
+        Files.createDirectories(sources.toPath().resolve("lib"));
+        Files.write(sources.toPath().resolve("lib/Lib.java"),
+            "package lib; public class Lib { public static int value() { return 42; } }".getBytes());
+        Files.write(sources.toPath().resolve("Main.java"),
+            "public class Main { public static void main(String[] a) { System.exit(lib.Lib.value() - 42); } }".getBytes());
+        assertThat(compiler.run(null, null, null, "-d", libClasses.getPath(),
+            sources.toPath().resolve("lib/Lib.java").toString())).isZero();
+        assertThat(compiler.run(null, null, null, "-d", classes.getPath(), "-cp", libClasses.getPath(),
+            sources.toPath().resolve("Main.java").toString())).isZero();
+        File jar = jar("lib.jar", "lib/Lib.class", libClasses);
+
+        File directory = new File(folder.getRoot(), "target/ep-cds");
+        List<String> classPath = ClassDataSharing.arrange(Arrays.asList(classes.getPath(), jar.getPath()));
+        ClassDataSharing sharing = new ClassDataSharing(directory, "com.example.Runner");
+        File classList = sharing.getClassList(classPath);
+        File archive = sharing.getArchive(classPath);
+
+        // first run records the loaded classes
+        //
+        String option = sharing.getOption(classPath);
+        assertThat(option).isEqualTo("-XX:DumpLoadedClassList=" + classList.getAbsolutePath());
+        assertThat(java(classPath, option)).isZero();
+        assertThat(classList).isFile();
+        assertThat(new String(Files.readAllBytes(classList.toPath()))).contains("lib/Lib", "Main");
+
+        // second run dumps and maps the archive
+        //
+        option = sharing.getOption(classPath);
+        assertThat(option).isEqualTo("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+        assertThat(archive).isFile();
+        File log = new File(folder.getRoot(), "class-load.log");
+        assertThat(java(classPath, "-Xshare:on", "-Xlog:class+load:file=" + log.getAbsolutePath(), option)).isZero();
+        assertThat(new String(Files.readAllBytes(log.toPath()))).contains("lib.Lib source: shared objects file");
+
+        // another deployment keeps its own files
+        //
+        ClassDataSharing other = new ClassDataSharing(directory, "com.example.Main");
+        assertThat(other.getOption(classPath)).startsWith("-XX:DumpLoadedClassList=");
+        assertThat(archive).isFile();
+
+        // changed dependency
+        //
+        jar("lib.jar", "lib/Lib.class", libClasses);
+        assertThat(jar.setLastModified(jar.lastModified() + 2000)).isTrue();
+        assertThat(sharing.getArchive(classPath)).isNotEqualTo(archive);
+        assertThat(sharing.getOption(classPath)).startsWith("-XX:DumpLoadedClassList=");
+        assertThat(archive).doesNotExist();
+        assertThat(classList).doesNotExist();
+        assertThat(other.getClassList(classPath)).isNotEqualTo(classList);
+    }
+
+    /**
+     * A lock held by another run disables class data sharing for this run
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testLocked() throws Exception {
+        File jar = jar("dependency.jar", "lib/Lib.class");
+        List<String> classPath = Arrays.asList(jar.getPath());
+        File directory = folder.newFolder("ep-cds");
+        ClassDataSharing sharing = new ClassDataSharing(directory, "Runner");
+
+        File classList = sharing.getClassList(classPath);
+        Files.write(classList.toPath(), "java/lang/Object\n".getBytes());
+        File lock = new File(directory, classList.getName().replace(".classlist", ".lock"));
+        assertThat(lock.createNewFile()).isTrue();
+
+        assertThat(sharing.getOption(classPath)).isNull();
+        assertThat(sharing.getArchive(classPath)).doesNotExist();
+    }
+
+    private int java(List<String> classPath, String... options) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(options));
+        command.add("-cp");
+        command.add(String.join(File.pathSeparator, classPath));
+        command.add("Main");
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        assertThat(process.waitFor(5, TimeUnit.MINUTES)).isTrue();
+        return process.exitValue();
+    }
+
+    private File jar(String name, String entry) throws IOException {
+        File jar = new File(folder.getRoot(), name);
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+            output.putNextEntry(new JarEntry(entry));
+            output.write(new byte[]{1});
+        }
+        return jar;
+    }
+
+    private File jar(String name, String entry, File classes) throws IOException {
+        File jar = new File(folder.getRoot(), name);
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+            output.putNextEntry(new JarEntry(entry));
+            output.write(Files.readAllBytes(classes.toPath().resolve(entry)));
+        }
+        return jar;
+    }
+}
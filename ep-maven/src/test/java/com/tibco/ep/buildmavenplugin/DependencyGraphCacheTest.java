@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.apache.maven.shared.dependency.graph.internal.DefaultDependencyNode;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link DependencyGraphCache}
+ */
+public class DependencyGraphCacheTest {
+
+    /**
+     * Graphs are built once per project and dependency set
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testCache() throws Exception {
+        DependencyGraphCache cache = DependencyGraphCache.get(null);
+        AtomicInteger builds = new AtomicInteger();
+        DependencyGraphCache.Builder builder = () -> {
+            builds.incrementAndGet();
+            return new DefaultDependencyNode(null, null, null, null, null);
+        };
+
+        MavenProject project = project("app");
+        DependencyNode first = cache.get(project, builder);
+        assertThat(cache.get(project, builder)).isSameAs(first);
+        assertThat(cache.get(project("app"), builder)).isSameAs(first);
+        assertThat(builds).hasValue(1);
+
+        // another project
+        //
+        assertThat(cache.get(project("other"), builder)).isNotSameAs(first);
+        assertThat(builds).hasValue(2);
+
+        // changed dependencies
+        //
+        project.getDependencies().get(0).setVersion("2.0.0");
+        assertThat(cache.get(project, builder)).isNotSameAs(first);
+        assertThat(builds).hasValue(3);
+    }
+
+    /**
+     * Failures are not cached
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testFailure() throws Exception {
+        DependencyGraphCache cache = DependencyGraphCache.get(null);
+        MavenProject project = project("app");
+
+        assertThatThrownBy(() -> cache.get(project, () -> {
+            throw new DependencyGraphBuilderException("offline");
+        })).isInstanceOf(DependencyGraphBuilderException.class);
+
+        DependencyNode node = new DefaultDependencyNode(null, null, null, null, null);
+        assertThat(cache.get(project, () -> node)).isSameAs(node);
+    }
+
+    private static MavenProject project(String artifactId) {
+        Model model = new Model();
+        model.setGroupId("com.example");
+        model.setArtifactId(artifactId);
+        model.setVersion("1.0.0");
+
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("com.example");
+        dependency.setArtifactId("fragment");
+        dependency.setVersion("1.0.0");
+        dependency.setType("ep-java-fragment");
+        model.addDependency(dependency);
+
+        return new MavenProject(model);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.tools.ToolProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link GeneratedSourceCompiler}
+ */
+public class GeneratedSourceCompilerTest {
+
+    /**
+     * Temporary folder
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Sources are compiled as they are generated, the sources present before excepted
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testCompile() throws Exception {
+        Path sources = folder.newFolder("generated-sources", "streaming").toPath();
+        Path projectSources = folder.newFolder("src", "main", "java").toPath();
+        Path classes = folder.getRoot().toPath().resolve("classes");
+
+        write(sources.resolve("com/example/Previous.java"), "package com.example; class Previous {}");
+        write(projectSources.resolve("com/example/Operator.java"), "package com.example; public class Operator {}");
+
+        GeneratedSourceCompiler compiler = new GeneratedSourceCompiler(ToolProvider.getSystemJavaCompiler(),
+            sources, classes, Collections.emptyList(), Collections.singletonList(projectSources),
+            Collections.emptyList(), new SimulatedLog(false));
+        try {
+            write(sources.resolve("com/example/First.java"),
+                "package com.example; public class First { Operator operator; }");
+            compiler.submit();
+            write(sources.resolve("com/example/Second.java"), "package com.example; class Second { First first; }");
+            compiler.submit();
+
+            assertThat(compiler.finish().get()).isTrue();
+            assertThat(compiler.getCompiledCount()).isEqualTo(2);
+            assertThat(classes.resolve("com/example/First.class")).exists();
+            assertThat(classes.resolve("com/example/Second.class")).exists();
+            assertThat(classes.resolve("com/example/Operator.class")).doesNotExist();
+            assertThat(classes.resolve("com/example/Previous.class")).doesNotExist();
+
+            write(sources.resolve("com/example/Broken.java"), "package com.example; class Broken { Missing missing; }");
+            compiler.submit();
+            assertThat(compiler.finish().get()).isFalse();
+            assertThat(compiler.getErrors()).hasSize(1);
+            assertThat(compiler.getErrors().get(0)).contains("Broken.java:1:");
+
+            // the final pass completes after the compiler is released
+            //
+            write(sources.resolve("com/example/Broken.java"), "package com.example; class Broken { First first; }");
+            CompletableFuture<Boolean> last = compiler.finish();
+            compiler.close();
+            assertThat(last.get(1, TimeUnit.MINUTES)).isTrue();
+            assertThat(classes.resolve("com/example/Broken.class")).exists();
+        } finally {
+            compiler.close();
+        }
+    }
+
+    /**
+     * Only the sources failing to compile are compiled again on the next pass,
+     * until the sources they reference are generated
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testCrossReferences() throws Exception {
+        Path sources = folder.newFolder("generated-sources", "streaming").toPath();
+        Path classes = folder.getRoot().toPath().resolve("classes");
+
+        GeneratedSourceCompiler compiler = new GeneratedSourceCompiler(ToolProvider.getSystemJavaCompiler(),
+            sources, classes, Collections.emptyList(), Collections.emptyList(),
+            Collections.emptyList(), new SimulatedLog(false));
+        try {
+            // the first module references a later one
+            //
+            write(sources.resolve("com/example/First.java"), "package com.example; class First { Second second; }");
+            write(sources.resolve("com/example/Other.java"), "package com.example; class Other {}");
+            compiler.submit();
+            assertThat(compiler.finish().get()).isFalse();
+            assertThat(compiler.getCompiledCount()).isEqualTo(1);
+            assertThat(classes.resolve("com/example/Other.class")).exists();
+            assertThat(classes.resolve("com/example/First.class")).doesNotExist();
+
+            // the later module references the first one
+            //
+            write(sources.resolve("com/example/Second.java"), "package com.example; class Second { First first; }");
+            compiler.submit();
+            assertThat(compiler.finish().get()).isTrue();
+            assertThat(compiler.getErrors()).isEmpty();
+            assertThat(compiler.getCompiledCount()).isEqualTo(3);
+            assertThat(classes.resolve("com/example/First.class")).exists();
+            assertThat(classes.resolve("com/example/Second.class")).exists();
+        } finally {
+            compiler.close();
+        }
+    }
+
+    private static void write(Path path, String content) throws Exception {
+        Files.createDirectories(path.getParent());
+        Files.write(path, content.getBytes());
+    }
+}
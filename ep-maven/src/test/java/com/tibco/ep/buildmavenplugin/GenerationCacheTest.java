@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link GenerationCache}
+ */
+public class GenerationCacheTest {
+
+    /**
+     * Temporary folder
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Generated sources and module data are restored from a stored entry
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testStoreAndRestore() throws Exception {
+        GenerationCache cache = new GenerationCache(folder.newFolder("cache"));
+        String key = GenerationState.hash(Stream.of("inputs"));
+
+        Path sources = folder.newFolder("first", "generated-sources", "streaming").toPath();
+        write(sources.resolve("com/example/First.java"), "class First {}");
+        Path modules = write(folder.getRoot().toPath().resolve("first/modules"), "com.example.First\n\n");
+
+        Path otherSources = folder.newFolder("second", "generated-sources", "streaming").toPath();
+        Path stale = write(otherSources.resolve("com/example/Stale.java"), "class Stale {}");
+        Path otherModules = folder.getRoot().toPath().resolve("second/modules");
+
+        assertThat(cache.restore(key, otherSources, otherModules)).isFalse();
+        assertThat(stale).exists();
+
+        cache.store(key, sources, modules);
+        write(sources.resolve("com/example/First.java"), "class First { int changed; }");
+        cache.store(key, sources, modules);
+
+        assertThat(cache.restore(key, otherSources, otherModules)).isTrue();
+        assertThat(stale).doesNotExist();
+        assertThat(otherSources.resolve("com/example/First.java")).hasContent("class First {}");
+        assertThat(otherModules).hasContent("com.example.First\n\n");
+
+        //  Entries without module data only restore test sources.
+        //
+        String testKey = GenerationState.hash(Stream.of("test inputs"));
+        cache.store(testKey, sources, null);
+        assertThat(cache.restore(testKey, otherSources, otherModules)).isFalse();
+        assertThat(cache.restore(testKey, otherSources, null)).isTrue();
+    }
+
+    /**
+     * Keys only depend on content, not on where the project is
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testContentKeys() throws Exception {
+        Path first = folder.newFolder("first").toPath();
+        Path second = folder.newFolder("second").toPath();
+        for (Path root : Arrays.asList(first, second)) {
+            write(root.resolve("src/main/eventflow/com/example/First.sbapp"), "first");
+            write(root.resolve("classes/com/example/Operator.class"), "operator");
+        }
+
+        assertThat(sourcesHash(first)).isEqualTo(sourcesHash(second));
+        write(second.resolve("src/main/eventflow/com/example/First.sbapp"), "changed");
+        assertThat(sourcesHash(first)).isNotEqualTo(sourcesHash(second));
+
+        Path repository = folder.newFolder("repository").toPath();
+        assertThat(GenerationCache.describe(first.resolve("classes"), repository))
+            .isEqualTo(GenerationCache.describe(second.resolve("classes"), repository));
+
+        Path release = write(repository.resolve("com/example/lib/1.0.0/lib-1.0.0.jar"), "release");
+        Path snapshot = write(repository.resolve("com/example/lib/1.1.0-SNAPSHOT/lib-1.1.0-SNAPSHOT.jar"), "1");
+        assertThat(GenerationCache.describe(release, repository)).isEqualTo("com/example/lib/1.0.0/lib-1.0.0.jar");
+        String snapshotKey = GenerationCache.describe(snapshot, repository);
+        write(snapshot, "2");
+        assertThat(GenerationCache.describe(snapshot, repository)).isNotEqualTo(snapshotKey);
+    }
+
+    private String sourcesHash(Path root) throws Exception {
+        GenerationState state = new GenerationState(new File(root.toFile(), "target/state.properties"));
+        state.update("inputs", Collections.singletonList(root.resolve("src/main/eventflow")));
+        return state.getSourcesHash(Collections.singletonList(root.resolve("src/main/eventflow")));
+    }
+
+    private static Path write(Path path, String content) throws Exception {
+        Files.createDirectories(path.getParent());
+        return Files.write(path, content.getBytes());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Paths;
+
+import com.tibco.ep.sb.services.build.BuildPhase;
+import com.tibco.ep.sb.services.build.BuildResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for {@link GenerationReport}
+ */
+public class GenerationReportTest {
+
+    /**
+     * Temporary folder
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Modules are ranked by time, with totals per phase
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testReport() throws Exception {
+        GenerationReport report = new GenerationReport();
+        report.add(new BuildResult().withEntityName("com.example.Fast")
+            .withEntityPath(Paths.get("src/main/eventflow/com/example/Fast.sbapp"))
+            .withElapsedTimeMillis(100)
+            .withPhaseTimeMillis(BuildPhase.TYPECHECK, 60)
+            .withPhaseTimeMillis(BuildPhase.CODEGEN, 40));
+        report.add(new BuildResult().withEntityName("com.example.Slow")
+            .withElapsedTimeMillis(2500)
+            .withPhaseTimeMillis(BuildPhase.TYPECHECK, 2000)
+            .withException(new IllegalStateException("bad")));
+        report.add(new BuildResult().withEntityName("com.example.Other, \"quoted\"").withElapsedTimeMillis(300));
+        report.skipped();
+        report.setWallTimeMillis(2000);
+
+        assertThat(report.getTotalMillis()).isEqualTo(2900);
+        assertThat(report.getPhaseTotalsMillis())
+            .containsOnly(entry(BuildPhase.TYPECHECK, 2060L), entry(BuildPhase.CODEGEN, 40L));
+        assertThat(report.getSlowest(2)).extracting(BuildResult::getEntityName)
+            .containsExactly("com.example.Slow", "com.example.Other, \"quoted\"");
+
+        assertThat(report.getSummary(1)).containsExactly(
+            "EventFlow code generation: 3 modules built (1 failed), 1 skipped, in 2.000 s (2.900 s total module time)",
+            "  Phases: typecheck 2.060 s, codegen 0.040 s",
+            "  Slowest modules:",
+            "    2.500 s  com.example.Slow (typecheck 2.000 s)");
+
+        File json = new File(folder.getRoot(), "target/ep-generate-main-timings.json");
+        File csv = new File(folder.getRoot(), "target/ep-generate-main-timings.csv");
+        report.write(json, csv, 2);
+        assertThat(json).hasContent(report.toJson(2));
+        assertThat(csv).hasContent(report.toCsv());
+
+        assertThat(report.toJson(2))
+            .contains("\"slowest\": [\"com.example.Slow\", \"com.example.Other, \\\"quoted\\\"\"]")
+            .contains("{\"name\": \"com.example.Slow\", \"path\": null, \"elapsedTimeMillis\": 2500, "
+                + "\"failed\": true, \"phasesMillis\": {\"typecheck\": 2000}},");
+        assertThat(report.toCsv()).startsWith(
+            "name,path,elapsedTimeMillis,failed,parseMillis,typecheckMillis,codegenMillis,writeMillis\n"
+                + "com.example.Slow,,2500,true,,2000,,\n"
+                + "\"com.example.Other, \"\"quoted\"\"\",,300,false,,,,\n");
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import com.tibco.ep.sb.services.build.BuildParameters;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link GenerationState}
+ */
+public class GenerationStateTest {
+
+    /**
+     * Temporary folder
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Module changes are detected, other changes need a full generation
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testChanges() throws Exception {
+        Path sources = folder.newFolder("src", "main", "eventflow").toPath();
+        Path configurations = folder.newFolder("src", "main", "configurations").toPath();
+        Path first = write(sources.resolve("com/example/First.sbapp"), "first");
+        Path second = write(sources.resolve("com/example/Second.sbint"), "second");
+        Path configuration = write(configurations.resolve("app.conf"), "configuration");
+        List<Path> roots = Arrays.asList(sources, configurations);
+
+        File stateFile = new File(folder.getRoot(), "target/ep-generate-main.properties");
+        String inputs = GenerationState.hash(Stream.of("key=value", first));
+
+        // no previous state
+        //
+        GenerationState.Changes changes = new GenerationState(stateFile).update(inputs, roots);
+        assertThat(changes.isFull()).isTrue();
+        assertThat(changes.getChanged()).containsExactlyInAnyOrder(first.toAbsolutePath(), second.toAbsolutePath());
+
+        GenerationState state = new GenerationState(stateFile);
+        state.update(inputs, roots);
+        state.save();
+
+        // nothing changed
+        //
+        state = new GenerationState(stateFile);
+        assertThat(state.update(inputs, roots).isEmpty()).isTrue();
+
+        // changed and removed modules
+        //
+        write(first, "first, changed");
+        Path third = write(sources.resolve("com/example/Third.sbapp"), "third");
+        Files.delete(second);
+        changes = state.update(inputs, roots);
+        assertThat(changes.isFull()).isFalse();
+        assertThat(changes.getChanged()).containsExactly(first.toAbsolutePath(), third.toAbsolutePath());
+        assertThat(changes.getRemoved()).containsExactly(second.toAbsolutePath());
+        state.save();
+
+        // same content, different modification time
+        //
+        assertThat(first.toFile().setLastModified(first.toFile().lastModified() - 10000)).isTrue();
+        assertThat(new GenerationState(stateFile).update(inputs, roots).isEmpty()).isTrue();
+
+        // other inputs
+        //
+        write(configuration, "configuration, changed");
+        assertThat(new GenerationState(stateFile).update(inputs, roots).isFull()).isTrue();
+        assertThat(new GenerationState(stateFile).update(GenerationState.hash(Stream.of("key=other")), roots).isFull())
+            .isTrue();
+
+        new GenerationState(stateFile).delete();
+        assertThat(stateFile).doesNotExist();
+    }
+
+    /**
+     * Modules marked as changed, eg after a failed generation, are the only
+     * ones generated again
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testMarkChanged() throws Exception {
+        Path sources = folder.newFolder("src", "main", "eventflow").toPath();
+        Path first = write(sources.resolve("com/example/First.sbapp"), "first");
+        Path second = write(sources.resolve("com/example/Second.sbapp"), "second");
+        Path removed = sources.resolve("com/example/Removed.sbapp");
+        List<Path> roots = Arrays.asList(sources);
+
+        File stateFile = new File(folder.getRoot(), "target/ep-generate-main.properties");
+        String inputs = GenerationState.hash(Stream.of("key=value"));
+
+        // full generation where the second module failed, and a removal not done
+        //
+        GenerationState state = new GenerationState(stateFile);
+        assertThat(state.update(inputs, roots).isFull()).isTrue();
+        state.markChanged(Set.of(second, removed));
+        state.save();
+
+        GenerationState.Changes changes = new GenerationState(stateFile).update(inputs, roots);
+        assertThat(changes.isFull()).isFalse();
+        assertThat(changes.getChanged()).containsExactly(second.toAbsolutePath());
+        assertThat(changes.getRemoved()).containsExactly(removed.toAbsolutePath());
+        assertThat(changes.getChanged()).doesNotContain(first.toAbsolutePath());
+    }
+
+    /**
+     * Class path directories are hashed with the files they hold
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testDirectoryInputs() throws Exception {
+        Path classes = folder.newFolder("sibling", "target", "classes").toPath();
+        Path operator = write(classes.resolve("com/example/Operator.class"), "operator");
+
+        String inputs = GenerationState.hash(Stream.of("key=value", classes));
+        assertThat(GenerationState.hash(Stream.of("key=value", classes))).isEqualTo(inputs);
+
+        write(operator, "operator, changed");
+        assertThat(operator.toFile().setLastModified(operator.toFile().lastModified() + 10000)).isTrue();
+        String changed = GenerationState.hash(Stream.of("key=value", classes));
+        assertThat(changed).isNotEqualTo(inputs);
+
+        write(classes.resolve("com/example/Other.class"), "other");
+        assertThat(GenerationState.hash(Stream.of("key=value", classes))).isNotEqualTo(changed);
+    }
+
+    /**
+     * Editing a module of a project changes neither the inputs hash of the
+     * generation nor anything else but that module, editing a java source
+     * of the project needs a full generation
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testModuleEdit() throws Exception {
+        Path sources = folder.newFolder("project", "src", "main", "eventflow").toPath();
+        Path testSources = folder.newFolder("project", "src", "test", "eventflow").toPath();
+        Path configurations = folder.newFolder("project", "src", "main", "configurations").toPath();
+        Path output = folder.newFolder("project", "target", "classes").toPath();
+        Path sibling = folder.newFolder("sibling", "target", "classes").toPath();
+        Path java = folder.newFolder("project", "src", "main", "java").toPath();
+        Path operator = write(java.resolve("com/example/Operator.java"), "operator");
+        List<Path> javaSources = Collections.singletonList(java);
+        write(sibling.resolve("com/example/Operator.class"), "operator");
+        Path first = write(sources.resolve("com/example/First.sbapp"), "first");
+        write(sources.resolve("com/example/Second.sbapp"), "second");
+        write(testSources.resolve("com/example/FirstTest.sbapp"), "test");
+        List<Path> roots = Arrays.asList(sources, testSources, configurations);
+
+        BuildParameters parameters = new BuildParameters()
+            .withCompilerProperties(Collections.singletonMap("key", "value"))
+            .withSourcePaths(Collections.singletonList(sources))
+            .withTestSourcePaths(Collections.singletonList(testSources))
+            .withProjectCompileClassPath(Arrays.asList(output, sibling))
+            .withDependenciesCompileClassPath(Collections.emptyList())
+            .withProjectTestCompileClassPath(Arrays.asList(output, sibling))
+            .withDependenciesTestCompileClassPath(Collections.emptyList());
+
+        File stateFile = new File(folder.getRoot(), "project/target/ep-generate-main.properties");
+        GenerationState state = new GenerationState(stateFile);
+        assertThat(state
+            .update(BaseGenerateMojo.getInputsHash(Stream.of("settings"), parameters, output, javaSources), roots)
+            .isFull()).isTrue();
+        state.save();
+
+        // the compilation following the generation writes the project output
+        //
+        write(output.resolve("com/example/First.class"), "first");
+
+        write(first, "first, changed");
+        assertThat(first.toFile().setLastModified(first.toFile().lastModified() + 10000)).isTrue();
+        GenerationState.Changes changes = new GenerationState(stateFile)
+            .update(BaseGenerateMojo.getInputsHash(Stream.of("settings"), parameters, output, javaSources), roots);
+        assertThat(changes.isFull()).isFalse();
+        assertThat(changes.getChanged()).containsExactly(first.toAbsolutePath());
+        assertThat(changes.getRemoved()).isEmpty();
+
+        // the project java sources may be used by any module
+        //
+        write(operator, "operator, changed");
+        assertThat(operator.toFile().setLastModified(operator.toFile().lastModified() + 10000)).isTrue();
+        assertThat(new GenerationState(stateFile)
+            .update(BaseGenerateMojo.getInputsHash(Stream.of("settings"), parameters, output, javaSources), roots)
+            .isFull()).isTrue();
+    }
+
+    private static Path write(Path path, String content) throws Exception {
+        Files.createDirectories(path.getParent());
+        return Files.write(path, content.getBytes());
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ManifestIndex}
+ */
+public class ManifestIndexTest {
+
+    /**
+     * Temporary folder
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Read attributes, then reuse them from the index file
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testIndex() throws Exception {
+        File fragment = new File(folder.getRoot(), "fragment.zip");
+        File indexFile = new File(folder.getRoot(), "target/ep-manifest-index.properties");
+
+        writeFragment(fragment, "AAA");
+        long lastModified = fragment.lastModified();
+
+        ManifestIndex index = ManifestIndex.get(null, indexFile);
+        assertThat(index.getMainAttribute(fragment, "TIBCO-EP-Fragment-List")).hasValue("AAA");
+        assertThat(index.getMainAttribute(fragment, "tibco-ep-fragment-list")).hasValue("AAA");
+        assertThat(index.getMainAttribute(fragment, "Main-Class")).isEmpty();
+        index.save();
+        assertThat(indexFile).exists();
+
+        // same size and modification time - the index file is used
+        //
+        writeFragment(fragment, "BBB");
+        assertThat(fragment.setLastModified(lastModified)).isTrue();
+        assertThat(ManifestIndex.get(null, indexFile).getMainAttribute(fragment, "TIBCO-EP-Fragment-List")).hasValue("AAA");
+
+        // changed archive - it is read again
+        //
+        assertThat(fragment.setLastModified(lastModified - 10000)).isTrue();
+        assertThat(ManifestIndex.get(null, indexFile).getMainAttribute(fragment, "TIBCO-EP-Fragment-List")).hasValue("BBB");
+    }
+
+    /**
+     * An archive without a manifest has no attributes
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testNoManifest() throws Exception {
+        File archive = new File(folder.getRoot(), "archive.zip");
+        try (JarOutputStream output = new JarOutputStream(new FileOutputStream(archive))) {
+            output.putNextEntry(new JarEntry("readme.txt"));
+            output.closeEntry();
+        }
+
+        ManifestIndex index = ManifestIndex.get(null, new File(folder.getRoot(), "index.properties"));
+        assertThat(index.getMainAttribute(archive, "TIBCO-EP-Fragment-List")).isEmpty();
+    }
+
+    private static void writeFragment(File fragment, String fragmentList) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("TIBCO-EP-Fragment-List", fragmentList);
+        try (JarOutputStream output = new JarOutputStream(new FileOutputStream(fragment), manifest)) {
+            JarEntry entry = new JarEntry("readme.txt");
+            entry.setTime(0);
+            output.putNextEntry(entry);
+            output.closeEntry();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import com.tibco.ep.buildmavenplugin.BaseMojo.PluginClassloader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link PackageIndex} and the plugin class loader
+ */
+public class PackageIndexTest {
+
+    /**
+     * Temporary folder
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Class loaded from a test jar
+     */
+    public static class Sample {
+    }
+
+    /**
+     * Paths are found in the jars holding their package
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testIndex() throws Exception {
+        File first = jar("first.jar", "data/a.txt", "first");
+        File second = jar("second.jar", "data/a.txt", "second");
+
+        try (PackageIndex index = new PackageIndex()) {
+            index.add(first.toURI().toURL());
+            index.add(second.toURI().toURL());
+            assertThat(index.isComplete()).isTrue();
+
+            assertThat(index.find("data/a.txt")).extracting(PackageIndex.IndexedJar::getUrl)
+                .containsExactly(first.toURI().toURL(), second.toURI().toURL());
+            assertThat(index.find("data/b.txt")).isEmpty();
+            assertThat(index.find("other/a.txt")).isEmpty();
+
+            index.add(folder.newFolder("classes").toURI().toURL());
+            assertThat(index.isComplete()).isFalse();
+        }
+    }
+
+    /**
+     * Classes and resources are loaded through the index
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testClassLoader() throws Exception {
+        String classPath = Sample.class.getName().replace('.', '/') + ".class";
+        byte[] classBytes;
+        try (InputStream input = Sample.class.getClassLoader().getResourceAsStream(classPath)) {
+            classBytes = input.readAllBytes();
+        }
+
+        File classes = folder.newFile("classes.jar");
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(classes.toPath()))) {
+            output.putNextEntry(new JarEntry(classPath));
+            output.write(classBytes);
+            output.closeEntry();
+        }
+        File first = jar("first.jar", "data/a.txt", "first");
+        File second = jar("second.jar", "data/a.txt", "second");
+
+        try (PluginClassloader classLoader = new PluginClassloader(new URL[]{classes.toURI().toURL()}, null)) {
+            classLoader.addURL(first.toURI().toURL());
+            classLoader.addURL(second.toURI().toURL());
+
+            Class<?> sample = classLoader.loadClass(Sample.class.getName());
+            assertThat(sample.getClassLoader()).isSameAs(classLoader);
+            assertThat(sample).isNotSameAs(Sample.class);
+            assertThat(sample.getProtectionDomain().getCodeSource().getLocation()).isEqualTo(classes.toURI().toURL());
+            assertThat(sample.getPackage().getName()).isEqualTo(Sample.class.getPackage().getName());
+
+            assertThatThrownBy(() -> classLoader.loadClass("com.example.Missing"))
+                .isInstanceOf(ClassNotFoundException.class);
+
+            try (InputStream input = classLoader.getResourceAsStream("data/a.txt")) {
+                assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("first");
+            }
+            assertThat(Collections.list(classLoader.getResources("data/a.txt"))).hasSize(2);
+            assertThat(classLoader.getResource("data/b.txt")).isNull();
+        }
+    }
+
+    /**
+     * Resources missing from the index are still found in manifest Class-Path
+     * jars, as directories, or with names to encode
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testIndexMisses() throws Exception {
+        File library = jar("library.jar", "data/c.txt", "library");
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, library.getName());
+        File main = folder.newFile("main.jar");
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(main.toPath()), manifest)) {
+            output.putNextEntry(new JarEntry("data/"));
+            output.closeEntry();
+            output.putNextEntry(new JarEntry("data/with space.txt"));
+            output.write("space".getBytes(StandardCharsets.UTF_8));
+            output.closeEntry();
+        }
+
+        try (PackageIndex index = new PackageIndex()) {
+            index.add(main.toURI().toURL());
+            assertThat(index.isComplete()).isFalse();
+        }
+
+        try (PluginClassloader classLoader = new PluginClassloader(new URL[]{main.toURI().toURL()}, null)) {
+            try (InputStream input = classLoader.getResourceAsStream("data/c.txt")) {
+                assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("library");
+            }
+            try (InputStream input = classLoader.getResourceAsStream("data/with space.txt")) {
+                assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("space");
+            }
+            assertThat(classLoader.getResource("data/")).isNotNull();
+        }
+    }
+
+    private File jar(String name, String entry, String content) throws Exception {
+        File jar = folder.newFile(name);
+        try (OutputStream file = Files.newOutputStream(jar.toPath());
+             JarOutputStream output = new JarOutputStream(file)) {
+            output.putNextEntry(new JarEntry(entry));
+            output.write(content.getBytes(StandardCharsets.UTF_8));
+            output.closeEntry();
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.junit.Test;
+
+import java.net.URL;
+
+import com.tibco.ep.buildmavenplugin.BaseMojo.PlatformService;
+import com.tibco.ep.buildmavenplugin.BaseMojo.PluginClassloader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PlatformServices}
+ */
+public class PlatformServicesTest {
+
+    /**
+     * Class loaders are shared per product version, service type and project
+     * if restricted to one, and closed once the session has ended and they
+     * are released
+     */
+    @Test
+    public void testSharing() {
+        PlatformServices services = new PlatformServices();
+        services.closeAtSessionEnd();
+
+        PlatformServices.Entry admin = services.acquire("11.0.0", PlatformService.ADMINISTRATION, null, PlatformServicesTest::newClassLoader);
+        assertThat(services.acquire("11.0.0", PlatformService.ADMINISTRATION, null, PlatformServicesTest::newClassLoader))
+            .isSameAs(admin);
+        PlatformServices.Entry build = services.acquire("11.0.0", PlatformService.CODE_GENERATION, null, PlatformServicesTest::newClassLoader);
+        assertThat(build).isNotSameAs(admin);
+        PlatformServices.Entry other = services.acquire("11.1.0", PlatformService.ADMINISTRATION, null, PlatformServicesTest::newClassLoader);
+        assertThat(other).isNotSameAs(admin);
+        PlatformServices.Entry project = services.acquire("11.0.0", PlatformService.ADMINISTRATION, "project", PlatformServicesTest::newClassLoader);
+        assertThat(project).isNotSameAs(admin);
+        assertThat(services.acquire("11.0.0", PlatformService.ADMINISTRATION, "project", PlatformServicesTest::newClassLoader))
+            .isSameAs(project);
+        assertThat(services.size()).isEqualTo(4);
+        services.release(build);
+        services.release(other);
+        services.release(project);
+        services.release(project);
+
+        // still in use, kept until released
+        //
+        services.release(admin);
+        services.close();
+        assertThat(services.size()).isEqualTo(1);
+
+        services.release(admin);
+        assertThat(services.size()).isEqualTo(0);
+
+        // after the session, entries are not shared
+        //
+        PlatformServices.Entry late = services.acquire("11.0.0", PlatformService.ADMINISTRATION, null, PlatformServicesTest::newClassLoader);
+        assertThat(late).isNotSameAs(admin);
+        assertThat(services.size()).isEqualTo(0);
+        services.release(late);
+    }
+
+    /**
+     * Without the end of the session, class loaders are closed as soon as
+     * they are no longer used
+     */
+    @Test
+    public void testWithoutSessionEnd() {
+        PlatformServices services = new PlatformServices();
+
+        PlatformServices.Entry admin = services.acquire("11.0.0", PlatformService.ADMINISTRATION, null, PlatformServicesTest::newClassLoader);
+        assertThat(services.acquire("11.0.0", PlatformService.ADMINISTRATION, null, PlatformServicesTest::newClassLoader))
+            .isSameAs(admin);
+        services.release(admin);
+        assertThat(services.size()).isEqualTo(1);
+
+        services.release(admin);
+        assertThat(services.size()).isEqualTo(0);
+        assertThat(services.acquire("11.0.0", PlatformService.ADMINISTRATION, null, PlatformServicesTest::newClassLoader))
+            .isNotSameAs(admin);
+    }
+
+    private static PluginClassloader newClassLoader() {
+        return new PluginClassloader(new URL[0], PlatformServicesTest.class.getClassLoader());
+    }
+}
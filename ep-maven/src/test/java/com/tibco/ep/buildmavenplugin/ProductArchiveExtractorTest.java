@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests for {@link ProductArchiveExtractor}
+ */
+public class ProductArchiveExtractorTest {
+
+    /**
+     * Temporary folder
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Extract an archive, then extract it again over read-only files
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testExtract() throws Exception {
+        File archive = folder.newFile("platform.zip");
+        try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(archive)) {
+            addDirectory(zip, "distrib/");
+            addFile(zip, "distrib/tibco/devbin/epadmin", "#!/bin/sh", 0755);
+            for (int i = 0; i < 50; i++) {
+                addFile(zip, "distrib/tibco/lib/file" + i + ".txt", "content " + i, 0444);
+            }
+        }
+
+        File destination = folder.newFolder("product");
+        new ProductArchiveExtractor(archive, destination, 4, new SimulatedLog(false)).extract();
+
+        Path home = destination.toPath();
+        assertThat(home.resolve("distrib/tibco/lib/file42.txt")).hasContent("content 42");
+        assertThat(home.resolve("distrib/tibco/devbin/epadmin")).hasContent("#!/bin/sh");
+
+        //  Read-only files from a previous installation are replaced.
+        //
+        new ProductArchiveExtractor(archive, destination, 2, new SimulatedLog(false)).extract();
+        assertThat(home.resolve("distrib/tibco/lib/file0.txt")).hasContent("content 0");
+
+        assumeTrue(home.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        assertThat(Files.getPosixFilePermissions(home.resolve("distrib/tibco/devbin/epadmin")))
+            .contains(PosixFilePermission.OWNER_EXECUTE);
+    }
+
+    /**
+     * Only changed entries are extracted over a previous installation
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testIncrementalExtract() throws Exception {
+        File first = folder.newFile("platform-1.zip");
+        try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(first)) {
+            addFile(zip, "lib/same.jar", "same", 0644);
+            addFile(zip, "lib/changed.jar", "version 1", 0644);
+            addFile(zip, "lib/removed.jar", "removed", 0644);
+        }
+        File second = folder.newFile("platform-2.zip");
+        try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(second)) {
+            addFile(zip, "lib/same.jar", "same", 0644);
+            addFile(zip, "lib/changed.jar", "version 2", 0644);
+            addFile(zip, "lib/added.jar", "added", 0644);
+        }
+
+        File destination = folder.newFolder("product");
+        File manifestFile = new File(folder.getRoot(), "platform.manifest");
+        new ProductArchiveExtractor(first, destination, 2, new SimulatedLog(false))
+            .extract()
+            .write(manifestFile);
+
+        Path home = destination.toPath();
+        FileTime unchangedTime = FileTime.fromMillis(1000);
+        Files.setLastModifiedTime(home.resolve("lib/same.jar"), unchangedTime);
+
+        InstallManifest manifest = new ProductArchiveExtractor(second, destination, 2, new SimulatedLog(false))
+            .extract(InstallManifest.read(manifestFile));
+
+        assertThat(manifest.size()).isEqualTo(3);
+        assertThat(home.resolve("lib/changed.jar")).hasContent("version 2");
+        assertThat(home.resolve("lib/added.jar")).hasContent("added");
+        assertThat(home.resolve("lib/removed.jar")).doesNotExist();
+        assertThat(Files.getLastModifiedTime(home.resolve("lib/same.jar"))).isEqualTo(unchangedTime);
+    }
+
+    /**
+     * Product homes populated from a store share identical files
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testStore() throws Exception {
+        File first = folder.newFile("platform-1.zip");
+        try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(first)) {
+            addFile(zip, "lib/same.jar", "same", 0644);
+            addFile(zip, "lib/changed.jar", "version 1", 0644);
+        }
+        File second = folder.newFile("platform-2.zip");
+        try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(second)) {
+            addFile(zip, "lib/same.jar", "same", 0644);
+            addFile(zip, "lib/changed.jar", "version 2", 0644);
+        }
+
+        ProductStore store = new ProductStore(folder.newFolder("store"));
+        Path home1 = folder.newFolder("product-1").toPath();
+        Path home2 = folder.newFolder("product-2").toPath();
+        new ProductArchiveExtractor(first, home1.toFile(), 2, new SimulatedLog(false))
+            .withStore(store)
+            .extract();
+        new ProductArchiveExtractor(second, home2.toFile(), 2, new SimulatedLog(false))
+            .withStore(store)
+            .extract();
+
+        assertThat(home1.resolve("lib/changed.jar")).hasContent("version 1");
+        assertThat(home2.resolve("lib/changed.jar")).hasContent("version 2");
+        assertThat(home2.resolve("lib/same.jar")).hasContent("same");
+
+        //  Hard links are expected on POSIX file systems.
+        //
+        assumeTrue(home1.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        assertThat(Files.isSameFile(home1.resolve("lib/same.jar"), home2.resolve("lib/same.jar"))).isTrue();
+        assertThat(Files.isSameFile(home1.resolve("lib/changed.jar"), home2.resolve("lib/changed.jar"))).isFalse();
+    }
+
+    /**
+     * A stored file with the key of an entry but another content is not linked
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testStoreKeyCollision() throws Exception {
+        File archive = folder.newFile("platform.zip");
+        try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(archive)) {
+            addFile(zip, "lib/library.jar", "library", 0644);
+        }
+
+        File storeDirectory = folder.newFolder("store");
+        Path stored;
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            stored = storeDirectory.toPath().resolve(ProductStore.key(zipFile.getEntry("lib/library.jar")));
+        }
+        Files.createDirectories(stored.getParent());
+        Files.write(stored, "other content".getBytes(StandardCharsets.UTF_8));
+
+        Path home = folder.newFolder("product").toPath();
+        new ProductArchiveExtractor(archive, home.toFile(), 2, new SimulatedLog(false))
+            .withStore(new ProductStore(storeDirectory))
+            .extract();
+
+        assertThat(home.resolve("lib/library.jar")).hasContent("library");
+        assertThat(stored).hasContent("other content");
+        assertThat(Files.isSameFile(home.resolve("lib/library.jar"), stored)).isFalse();
+    }
+
+    /**
+     * Entries outside of the destination are rejected
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testEntryOutsideDestination() throws Exception {
+        File archive = folder.newFile("evil.zip");
+        try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(archive)) {
+            addFile(zip, "../outside.txt", "evil", 0644);
+        }
+
+        File destination = folder.newFolder("product");
+        assertThatThrownBy(() -> new ProductArchiveExtractor(archive, destination, 1, new SimulatedLog(false)).extract())
+            .isInstanceOf(MojoExecutionException.class);
+        assertThat(new File(folder.getRoot(), "outside.txt")).doesNotExist();
+    }
+
+    private static void addDirectory(ZipArchiveOutputStream zip, String name) throws IOException {
+        zip.putArchiveEntry(new ZipArchiveEntry(name));
+        zip.closeArchiveEntry();
+    }
+
+    private static void addFile(ZipArchiveOutputStream zip, String name, String content, int mode) throws IOException {
+        ZipArchiveEntry entry = new ZipArchiveEntry(name);
+        entry.setUnixMode(mode);
+        zip.putArchiveEntry(entry);
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeArchiveEntry();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link ProductFingerprint}
+ */
+
+public class ProductFingerprintTest {
+
+    /**
+     * Temporary folder
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Match an archive after a touch and after a content change
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testMatches() throws Exception {
+        File archive = folder.newFile("platform.zip");
+        writeArchive(archive, "aaaa");
+
+        ProductFingerprint fingerprint = ProductFingerprint.of(archive);
+        assertThat(fingerprint.matches(archive)).isTrue();
+        assertThat(ProductFingerprint.parse(fingerprint.toString())).isEqualTo(fingerprint);
+
+        // same content, new modification time - central directory is unchanged
+        //
+        assertThat(archive.setLastModified(archive.lastModified() - 10000)).isTrue();
+        assertThat(fingerprint.matches(archive)).isTrue();
+
+        // same size, different content
+        //
+        long size = archive.length();
+        writeArchive(archive, "bbbb");
+        assertThat(archive.length()).isEqualTo(size);
+        assertThat(archive.setLastModified(archive.lastModified() - 20000)).isTrue();
+        assertThat(fingerprint.matches(archive)).isFalse();
+    }
+
+    /**
+     * Parse invalid fingerprints and hash a file that isn't a zip
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testInvalid() throws Exception {
+        assertThat(ProductFingerprint.parse(null)).isNull();
+        assertThat(ProductFingerprint.parse("0123456789ABCDEF")).isNull();
+        assertThat(ProductFingerprint.parse("a:b:c")).isNull();
+
+        File notAZip = folder.newFile("platform.zip");
+        Files.write(notAZip.toPath(), "not a zip".getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> ProductFingerprint.of(notAZip)).isInstanceOf(IOException.class);
+    }
+
+    private static void writeArchive(File archive, String content) throws IOException {
+        try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(archive)) {
+            ZipArchiveEntry entry = new ZipArchiveEntry("distrib/tibco/lib/file.txt");
+            entry.setTime(0);
+            zip.putArchiveEntry(entry);
+            zip.write(content.getBytes(StandardCharsets.UTF_8));
+            zip.closeArchiveEntry();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link ProductInstallations}
+ */
+public class ProductInstallationsTest {
+
+    /**
+     * Installations into a product home run in order and are waited for
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testAwait() throws Exception {
+        ProductInstallations installations = ProductInstallations.get(null);
+        File productHome = new File("product");
+        List<String> steps = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        installations.submit(productHome, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new MojoExecutionException("interrupted", e);
+            }
+            steps.add("first");
+        });
+        installations.submit(productHome, () -> steps.add("second"));
+
+        started.await();
+        assertThat(steps).isEmpty();
+        release.countDown();
+
+        installations.await(productHome);
+        assertThat(steps).containsExactly("first", "second");
+
+        // nothing pending for another product home
+        //
+        installations.await(new File("other"));
+        installations.awaitAll();
+    }
+
+    /**
+     * Steps with the same key run once
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testOnce() throws Exception {
+        ProductInstallations installations = ProductInstallations.get(null);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThat(installations.once("platform", runs::incrementAndGet)).isTrue();
+        assertThat(installations.once("platform", runs::incrementAndGet)).isFalse();
+        assertThat(installations.once("support", runs::incrementAndGet)).isTrue();
+        assertThat(runs).hasValue(2);
+
+        assertThatThrownBy(() -> installations.once("failed", () -> {
+            throw new MojoExecutionException("extraction failed");
+        })).hasMessage("extraction failed");
+        assertThatThrownBy(() -> installations.once("failed", runs::incrementAndGet))
+            .hasMessage("extraction failed");
+        assertThat(runs).hasValue(2);
+    }
+
+    /**
+     * A failed installation is reported to the goals waiting for it
+     */
+    @Test
+    public void testFailure() {
+        ProductInstallations installations = ProductInstallations.get(null);
+        File productHome = new File("product");
+
+        installations.submit(productHome, () -> {
+            throw new MojoExecutionException("extraction failed");
+        });
+
+        assertThatThrownBy(() -> installations.await(productHome))
+            .isInstanceOf(MojoExecutionException.class)
+            .hasMessage("extraction failed");
+        assertThatThrownBy(installations::awaitAll)
+            .isInstanceOf(MojoExecutionException.class);
+    }
+}
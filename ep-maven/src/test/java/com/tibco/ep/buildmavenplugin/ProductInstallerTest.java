@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProductInstaller} and {@link ProductSubset}
+ */
+public class ProductInstallerTest {
+
+    /**
+     * Temporary folder
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Match entries against subsets
+     */
+    @Test
+    public void testSubset() {
+        assertThat(ProductSubset.ALL.matches("distrib/tibco/docs/index.html")).isTrue();
+        assertThat(ProductSubset.GENERATE.matches("distrib/tibco/sb/")).isTrue();
+        assertThat(ProductSubset.GENERATE.matches("distrib/tibco/sb/lib/sb.jar")).isTrue();
+        assertThat(ProductSubset.GENERATE.matches("distrib/tibco/dtm/lib/dtm.jar")).isFalse();
+        assertThat(ProductSubset.forProfile("Admin")).isEqualTo(ProductSubset.ADMIN);
+
+        ProductSubset subset = ProductSubset.of(List.of("distrib/tibco/"), List.of("**/*.html"));
+        assertThat(subset.matches("distrib/tibco/sb/lib/sb.jar")).isTrue();
+        assertThat(subset.matches("distrib/tibco/docs/index.html")).isFalse();
+        assertThat(ProductSubset.parse(subset.toString())).isEqualTo(subset);
+        assertThat(ProductSubset.parse(ProductSubset.ALL.toString()).isAll()).isTrue();
+    }
+
+    /**
+     * Install part of a zip, then complete the installation
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testPartialInstall() throws Exception {
+        File archive = folder.newFile("platform.zip");
+        try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(archive)) {
+            addFile(zip, "distrib/tibco/sb/lib/sb.jar");
+            addFile(zip, "distrib/tibco/dtm/lib/dtm.jar");
+            addFile(zip, "distrib/tibco/devbin/epadmin");
+            addFile(zip, "distrib/tibco/docs/index.html");
+        }
+
+        File productHome = folder.newFolder("product");
+        SimulatedLog log = new SimulatedLog(false);
+        ProductInstaller installer = new ProductInstaller(productHome, log);
+
+        // nothing installed by maven yet, nothing to complete
+        //
+        installer.complete("platform", "platform", archive, ProductSubset.ADMIN, false);
+        assertThat(new File(productHome, "distrib")).doesNotExist();
+
+        installer.install("platform", "platform", archive, null, ProductSubset.GENERATE);
+        assertThat(new File(productHome, "distrib/tibco/sb/lib/sb.jar")).exists();
+        assertThat(new File(productHome, "distrib/tibco/dtm/lib/dtm.jar")).doesNotExist();
+
+        installer.complete("platform", "platform", archive, ProductSubset.ADMIN, false);
+        assertThat(new File(productHome, "distrib/tibco/sb/lib/sb.jar")).exists();
+        assertThat(new File(productHome, "distrib/tibco/dtm/lib/dtm.jar")).exists();
+        assertThat(new File(productHome, "distrib/tibco/devbin/epadmin")).exists();
+        assertThat(new File(productHome, "distrib/tibco/docs/index.html")).doesNotExist();
+
+        installer.complete("platform", "platform", archive, ProductSubset.ALL, false);
+        assertThat(new File(productHome, "distrib/tibco/docs/index.html")).exists();
+
+        // the status of a completion is only logged if asked for, installations
+        // sharing the installer still log it
+        //
+        log.reset();
+        installer.complete("platform", "platform", archive, ProductSubset.ALL, false);
+        assertThat(log.getInfoLog()).doesNotContain("already installed");
+        installer.install("platform", "platform", archive, null, ProductSubset.ALL);
+        assertThat(log.getInfoLog()).contains("platform already installed by maven to " + productHome);
+    }
+
+    /**
+     * A subset installed over a whole installation of an older zip keeps the
+     * other files
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testSubsetOverFullInstall() throws Exception {
+        File archive = folder.newFile("platform.zip");
+        try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(archive)) {
+            addFile(zip, "distrib/tibco/sb/lib/sb.jar");
+            addFile(zip, "distrib/tibco/dtm/lib/dtm.jar");
+            addFile(zip, "distrib/tibco/docs/index.html");
+        }
+
+        File productHome = folder.newFolder("product");
+        ProductInstaller installer = new ProductInstaller(productHome, new SimulatedLog(false));
+        installer.install("platform", "platform", archive, null, ProductSubset.ALL);
+
+        try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(archive)) {
+            addFile(zip, "distrib/tibco/sb/lib/sb.jar");
+            addFile(zip, "distrib/tibco/sb/lib/sb-new.jar");
+            addFile(zip, "distrib/tibco/dtm/lib/dtm.jar");
+            addFile(zip, "distrib/tibco/docs/index.html");
+        }
+        installer.install("platform", "platform", archive, null, ProductSubset.GENERATE);
+
+        assertThat(new File(productHome, "distrib/tibco/sb/lib/sb-new.jar")).exists();
+        assertThat(new File(productHome, "distrib/tibco/dtm/lib/dtm.jar")).exists();
+        assertThat(new File(productHome, "distrib/tibco/docs/index.html")).exists();
+    }
+
+    /**
+     * A marker of an older plugin, with only a checksum, records a whole installation
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testSubsetOverChecksumMarker() throws Exception {
+        File archive = folder.newFile("platform.zip");
+        try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(archive)) {
+            addFile(zip, "distrib/tibco/sb/lib/sb.jar");
+            addFile(zip, "distrib/tibco/docs/index.html");
+        }
+
+        File productHome = folder.newFolder("product");
+        ProductInstaller installer = new ProductInstaller(productHome, new SimulatedLog(false));
+        installer.install("platform", "platform", archive, null, ProductSubset.ALL);
+
+        File marker = new File(productHome, "dependency-maven-plugin-markers/platform.marker");
+        assertThat(marker).isFile();
+        Files.write(marker.toPath(), List.of("0123456789ABCDEF"), StandardCharsets.UTF_8);
+
+        installer.install("platform", "platform", archive, null, ProductSubset.GENERATE);
+
+        assertThat(new File(productHome, "distrib/tibco/sb/lib/sb.jar")).exists();
+        assertThat(new File(productHome, "distrib/tibco/docs/index.html")).exists();
+    }
+
+    /**
+     * The background verification only removes the marker of a corrupted zip
+     * under the exclusive lock, and only if no other build installed it meanwhile
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testVerificationLocking() throws Exception {
+        for (boolean reinstalled : new boolean[]{false, true}) {
+            File archive = folder.newFile("platform-" + reinstalled + ".zip");
+            try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(archive)) {
+                addFile(zip, "distrib/tibco/sb/lib/sb.jar");
+            }
+            File productHome = folder.newFolder("product-" + reinstalled);
+            ProductInstaller installer = new ProductInstaller(productHome, new SimulatedLog(false))
+                .withVerification(true);
+            installer.install("platform", "platform", archive, null, ProductSubset.ALL);
+
+            // same size and modification time, other content
+            //
+            long lastModified = archive.lastModified();
+            byte[] content = Files.readAllBytes(archive.toPath());
+            content[content.length / 4] ^= 1;
+            Files.write(archive.toPath(), content);
+            assertThat(archive.setLastModified(lastModified)).isTrue();
+
+            File marker = new File(productHome, "dependency-maven-plugin-markers/platform.marker");
+            File lockFile = new File(productHome, "dependency-maven-plugin-markers/platform.lock");
+            try (ProductLock lock = ProductLock.exclusive(lockFile, 0)) {
+                installer.install("platform", "platform", archive, null, ProductSubset.ALL);
+                Thread.sleep(500);
+                assertThat(marker).exists();
+                if (reinstalled) {
+                    Files.write(marker.toPath(), List.of("0123456789ABCDEF"), StandardCharsets.UTF_8);
+                }
+            }
+
+            long deadline = System.currentTimeMillis() + 10000;
+            while (marker.exists() && !reinstalled && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            Thread.sleep(reinstalled ? 500 : 0);
+            assertThat(marker.exists()).isEqualTo(reinstalled);
+        }
+    }
+
+    /**
+     * A manual installation is not overwritten
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testManualInstall() throws Exception {
+        File archive = folder.newFile("platform.zip");
+        try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(archive)) {
+            addFile(zip, "distrib/tibco/sb/lib/sb.jar");
+        }
+
+        File productHome = folder.newFolder("product");
+        File validationFile = new File(productHome, "distrib/tibco/sb/deploy/sb.kds");
+        assertThat(validationFile.getParentFile().mkdirs()).isTrue();
+        assertThat(validationFile.createNewFile()).isTrue();
+
+        new ProductInstaller(productHome, new SimulatedLog(false))
+            .install("platform", "platform", archive, "distrib/tibco/sb/deploy/sb.kds", ProductSubset.ALL);
+        assertThat(new File(productHome, "distrib/tibco/sb/lib/sb.jar")).doesNotExist();
+    }
+
+    private static void addFile(ZipArchiveOutputStream zip, String name) throws IOException {
+        zip.putArchiveEntry(new ZipArchiveEntry(name));
+        zip.write(name.getBytes(StandardCharsets.UTF_8));
+        zip.closeArchiveEntry();
+    }
+}
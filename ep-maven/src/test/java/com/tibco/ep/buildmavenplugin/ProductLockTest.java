@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link ProductLock}
+ */
+public class ProductLockTest {
+
+    /**
+     * Temporary folder
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Shared locks are held together, exclusive locks wait for them
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testSharedAndExclusive() throws Exception {
+        File lockFile = new File(folder.getRoot(), "markers/platform.lock");
+
+        try (ProductLock first = ProductLock.shared(lockFile, 1000)) {
+            assertThat(lockFile).exists();
+
+            // another thread shares the lock
+            //
+            CompletableFuture.runAsync(() -> {
+                try (ProductLock second = ProductLock.shared(lockFile, 1000)) {
+                    // held with the first one
+                } catch (MojoExecutionException e) {
+                    throw new IllegalStateException(e);
+                }
+            }).get(5, TimeUnit.SECONDS);
+
+            // but an exclusive lock times out
+            //
+            CompletableFuture<Void> exclusive = CompletableFuture.runAsync(() -> {
+                assertThatThrownBy(() -> ProductLock.exclusive(lockFile, 200))
+                    .isInstanceOf(MojoExecutionException.class)
+                    .hasMessageContaining("Timed out");
+            });
+            exclusive.get(5, TimeUnit.SECONDS);
+        }
+
+        // and is granted once the shared lock is released
+        //
+        CompletableFuture.runAsync(() -> {
+            try (ProductLock lock = ProductLock.exclusive(lockFile, 1000)) {
+                // held
+            } catch (MojoExecutionException e) {
+                throw new IllegalStateException(e);
+            }
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * An exclusive lock blocks shared locks until released
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testExclusive() throws Exception {
+        File lockFile = new File(folder.getRoot(), "platform.lock");
+
+        ProductLock exclusive = ProductLock.exclusive(lockFile, 0);
+        CompletableFuture<Void> shared = CompletableFuture.runAsync(() -> {
+            try (ProductLock lock = ProductLock.shared(lockFile, 5000)) {
+                // held
+            } catch (MojoExecutionException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        Thread.sleep(200);
+        assertThat(shared).isNotDone();
+
+        exclusive.close();
+        shared.get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProjectModuleData}
+ */
+public class ProjectModuleDataTest {
+
+    /**
+     * Modules added concurrently are all kept, in a stable order
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testConcurrentModules() throws Exception {
+        ProjectModuleData data = new ProjectModuleData();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 9; i >= 0; i--) {
+            String name = "com.example.Module" + i;
+            executor.execute(() -> data.addModule(name, ".sbapp"));
+            executor.execute(() -> data.addModule(name + "Interface", ".sbint"));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(data.getModules()).startsWith("com.example.Module0 com.example.Module1 ")
+            .endsWith(" com.example.Module9");
+        assertThat(data.getModules().split(" ")).hasSize(10);
+        assertThat(data.getInterfaces().split(" ")).hasSize(10);
+
+        ProjectModuleData next = new ProjectModuleData();
+        next.addModule("com.example.Module10", ".sbapp");
+        next.addModules(data, Collections.singleton("com.example.Module5"));
+        assertThat(next.getModules().split(" ")).hasSize(10).doesNotContain("com.example.Module5");
+        assertThat(next.getInterfaces().split(" ")).hasSize(10);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ResolutionCache}
+ */
+public class ResolutionCacheTest {
+
+    /**
+     * Results are resolved once per project until its dependencies change
+     */
+    @Test
+    public void testCache() {
+        ResolutionCache cache = ResolutionCache.get(null);
+        AtomicInteger resolutions = new AtomicInteger();
+        MavenProject project = project();
+
+        // nested resolution of another result of the same project
+        //
+        String version = cache.get(project, "productVersion",
+            () -> cache.get(project, "dependencies", () -> "sdk-" + resolutions.incrementAndGet()) + "-version");
+        assertThat(version).isEqualTo("sdk-1-version");
+        assertThat(cache.<String>get(project, "dependencies", () -> "sdk-" + resolutions.incrementAndGet())).isEqualTo("sdk-1");
+        assertThat(cache.<String>get(project(), "productVersion", () -> "other")).isEqualTo("sdk-1-version");
+
+        // changed dependencies
+        //
+        project.getDependencies().get(0).setVersion("2.0.0");
+        assertThat(cache.<String>get(project, "dependencies", () -> "sdk-" + resolutions.incrementAndGet())).isEqualTo("sdk-2");
+
+        // changed dependency management
+        //
+        DependencyManagement management = new DependencyManagement();
+        Dependency managed = new Dependency();
+        managed.setGroupId("com.tibco.ep.sb.rt");
+        managed.setArtifactId("support_platform");
+        managed.setVersion("1.0.0");
+        management.addDependency(managed);
+        project.getModel().setDependencyManagement(management);
+        assertThat(cache.<String>get(project, "dependencies", () -> "sdk-" + resolutions.incrementAndGet())).isEqualTo("sdk-3");
+        assertThat(cache.<String>get(project, "dependencies", () -> "sdk-" + resolutions.incrementAndGet())).isEqualTo("sdk-3");
+    }
+
+    private static MavenProject project() {
+        Model model = new Model();
+        model.setGroupId("com.example");
+        model.setArtifactId("app");
+        model.setVersion("1.0.0");
+
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("com.tibco.ep.sb.rt");
+        dependency.setArtifactId("platform_linuxx86_64");
+        dependency.setVersion("1.0.0");
+        dependency.setType("zip");
+        model.addDependency(dependency);
+
+        return new MavenProject(model);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SourceWatcher}
+ */
+public class SourceWatcherTest {
+
+    private static final long TIMEOUT = 10000;
+    private static final long DEBOUNCE = 200;
+
+    /**
+     * Temporary folder
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Changes are reported once a burst is over, including in new directories
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testChanges() throws Exception {
+        Path sources = folder.newFolder("src", "main", "eventflow").toPath();
+        Path existing = Files.write(Files.createDirectories(sources.resolve("com/example")).resolve("First.sbapp"),
+            "first".getBytes());
+
+        try (SourceWatcher watcher = new SourceWatcher(Arrays.asList(sources, sources.resolveSibling("missing")))) {
+            assertThat(watcher.size()).isEqualTo(3);
+            assertThat(watcher.poll(DEBOUNCE, DEBOUNCE)).isEmpty();
+
+            Files.write(existing, "changed".getBytes());
+            Path created = Files.write(existing.resolveSibling("Second.sbapp"), "second".getBytes());
+            Set<Path> changes = watcher.poll(TIMEOUT, DEBOUNCE);
+            assertThat(changes).contains(existing, created);
+
+            Path directory = Files.createDirectories(sources.resolve("com/example/other"));
+            Set<Path> directoryChanges = watcher.poll(TIMEOUT, DEBOUNCE);
+            assertThat(directoryChanges).contains(directory);
+            assertThat(watcher.size()).isEqualTo(4);
+
+            Path nested = Files.write(directory.resolve("Third.sbapp"), "third".getBytes());
+            assertThat(watcher.poll(TIMEOUT, DEBOUNCE)).contains(nested);
+
+            Files.delete(created);
+            assertThat(watcher.poll(TIMEOUT, DEBOUNCE)).contains(created);
+        }
+    }
+}
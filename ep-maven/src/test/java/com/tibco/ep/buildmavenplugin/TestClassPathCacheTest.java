@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TestClassPathCache}
+ */
+public class TestClassPathCacheTest {
+
+    /**
+     * Temporary folder
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Save and reuse a classpath
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testCache() throws Exception {
+        MavenProject project = project();
+        String key = TestClassPathCache.key(project, "2.3.0");
+        assertThat(TestClassPathCache.key(project(), "2.3.0")).isEqualTo(key);
+        assertThat(TestClassPathCache.key(project, "2.4.0")).isNotEqualTo(key);
+
+        File first = folder.newFile("first.jar");
+        File second = folder.newFile("second.jar");
+        List<String> classPath = Arrays.asList(first.getPath(), second.getPath());
+
+        TestClassPathCache cache = new TestClassPathCache(new File(folder.getRoot(), "target/ep-test-classpath.properties"));
+        assertThat(cache.read(key)).isEmpty();
+
+        cache.write(key, classPath);
+        assertThat(cache.read(key)).hasValue(classPath);
+
+        // changed dependencies
+        //
+        project.getDependencies().get(0).setVersion("2.0.0");
+        assertThat(cache.read(TestClassPathCache.key(project, "2.3.0"))).isEmpty();
+
+        // deleted file
+        //
+        assertThat(second.delete()).isTrue();
+        assertThat(cache.read(key)).isEmpty();
+    }
+
+    private static MavenProject project() {
+        Model model = new Model();
+        model.setGroupId("com.example");
+        model.setArtifactId("app");
+        model.setVersion("1.0.0");
+
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("junit");
+        dependency.setArtifactId("junit");
+        dependency.setVersion("4.13.2");
+        dependency.setScope("test");
+        model.addDependency(dependency);
+
+        return new MavenProject(model);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TestClassPath}
+ */
+public class TestClassPathTest {
+
+    /**
+     * Temporary folder
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Duplicates are removed, keeping the first position
+     */
+    @Test
+    public void testDuplicates() {
+        String a = new File(folder.getRoot(), "a.jar").getPath();
+        String b = new File(folder.getRoot(), "b.jar").getPath();
+        String c = new File(folder.getRoot(), "lib/../c.jar").getPath();
+        String normalizedC = new File(folder.getRoot(), "c.jar").getPath();
+
+        TestClassPath classPath = TestClassPath.of(String.join(File.pathSeparator,
+            "", a, b, a, c, normalizedC, b));
+
+        assertThat(classPath.getElements()).containsExactly(a, b, c);
+        assertThat(classPath.toString()).isEqualTo(String.join(File.pathSeparator, a, b, c));
+    }
+
+    /**
+     * The pathing jar lists the classpath, and is only rewritten when it changes
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testPathingJar() throws Exception {
+        File a = folder.newFile("a.jar");
+        File classes = folder.newFolder("classes");
+        File jar = new File(folder.getRoot(), "target/ep-test-classpath.jar");
+
+        TestClassPath classPath = TestClassPath.of(a.getPath() + File.pathSeparator + classes.getPath());
+        assertThat(classPath.writePathingJar(jar)).isEqualTo(jar);
+
+        try (JarFile jarFile = new JarFile(jar)) {
+            assertThat(jarFile.getManifest().getMainAttributes().getValue(Attributes.Name.CLASS_PATH))
+                .isEqualTo(a.toURI() + " " + classes.toURI());
+        }
+
+        assertThat(jar.setLastModified(1000L)).isTrue();
+        classPath.writePathingJar(jar);
+        assertThat(jar.lastModified()).isEqualTo(1000L);
+
+        TestClassPath.of(a.getPath()).writePathingJar(jar);
+        assertThat(jar.lastModified()).isNotEqualTo(1000L);
+    }
+}
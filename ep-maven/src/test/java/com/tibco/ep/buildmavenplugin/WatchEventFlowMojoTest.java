@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2026 Cloud Software Group, Inc.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.tibco.ep.buildmavenplugin;
+
+import com.tibco.ep.sb.services.build.BuildParameters;
+import com.tibco.ep.sb.services.build.BuildTarget;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link WatchEventFlowMojo}
+ */
+public class WatchEventFlowMojoTest {
+
+    /**
+     * Temporary folder
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * A round after a single file change only generates that module, and
+     * only generates the test modules when they may depend on the change
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void testRounds() throws Exception {
+        Path sources = folder.newFolder("src", "main", "eventflow").toPath();
+        Path configurations = folder.newFolder("src", "main", "configurations").toPath();
+        Path testSources = folder.newFolder("src", "test", "eventflow").toPath();
+        Path testConfigurations = folder.newFolder("src", "test", "configurations").toPath();
+        Path output = folder.newFolder("target", "classes").toPath();
+        Path first = write(sources.resolve("com/example/First.sbapp"), "first");
+        write(sources.resolve("com/example/Second.sbapp"), "second");
+        Path firstTest = write(testSources.resolve("com/example/FirstTest.sbapp"), "first test");
+        List<Path> testRoots = List.of(testSources, testConfigurations);
+
+        BuildParameters parameters = new BuildParameters()
+            .withCompilerProperties(Collections.emptyMap())
+            .withSourcePaths(List.of(sources))
+            .withTestSourcePaths(List.of(testSources))
+            .withConfigurationDirectory(configurations)
+            .withTestConfigurationDirectory(testConfigurations)
+            .withProjectCompileClassPath(List.of(output))
+            .withDependenciesCompileClassPath(Collections.emptyList())
+            .withProjectTestCompileClassPath(List.of(output))
+            .withDependenciesTestCompileClassPath(Collections.emptyList());
+
+        // initial generation
+        //
+        assertThat(round(BuildTarget.MAIN, parameters, output).isFull()).isTrue();
+        assertThat(round(BuildTarget.TEST, parameters, output).isFull()).isTrue();
+
+        // a main module changed
+        //
+        touch(first);
+        GenerationState.Changes changes = round(BuildTarget.MAIN, parameters, output);
+        assertThat(changes.isFull()).isFalse();
+        assertThat(changes.getChanged()).containsExactly(first.toAbsolutePath());
+        assertThat(WatchEventFlowMojo.affectsTests(Set.of(first), testRoots, !changes.isEmpty())).isTrue();
+        changes = round(BuildTarget.TEST, parameters, output);
+        assertThat(changes.isFull()).isFalse();
+        assertThat(changes.getChanged()).containsExactly(first.toAbsolutePath());
+
+        // a test module changed
+        //
+        touch(firstTest);
+        changes = round(BuildTarget.MAIN, parameters, output);
+        assertThat(changes.isEmpty()).isTrue();
+        assertThat(WatchEventFlowMojo.affectsTests(Set.of(firstTest), testRoots, !changes.isEmpty())).isTrue();
+        changes = round(BuildTarget.TEST, parameters, output);
+        assertThat(changes.isFull()).isFalse();
+        assertThat(changes.getChanged()).containsExactly(firstTest.toAbsolutePath());
+
+        // a main file changed without main modules to generate
+        //
+        assertThat(WatchEventFlowMojo.affectsTests(Set.of(first), testRoots, false)).isFalse();
+        assertThat(WatchEventFlowMojo.affectsTests(Set.of(Path.of("")), testRoots, false)).isTrue();
+    }
+
+    // compare with the previous round, then save as the mojo does
+    //
+    private GenerationState.Changes round(BuildTarget target, BuildParameters parameters, Path output)
+        throws Exception {
+        GenerationState state = new GenerationState(new File(folder.getRoot(),
+            "target/ep-generate-" + target.toString().toLowerCase() + ".properties"));
+        GenerationState.Changes changes = state.update(BaseGenerateMojo.getInputsHash(Stream.of(target),
+            parameters, output, Collections.emptyList()), BaseGenerateMojo.getStateRoots(target, parameters));
+        state.save();
+        return changes;
+    }
+
+    private static void touch(Path path) throws Exception {
+        long lastModified = path.toFile().lastModified();
+        Files.write(path, (Files.readString(path) + ", changed").getBytes());
+        assertThat(path.toFile().setLastModified(lastModified + 10000)).isTrue();
+    }
+
+    private static Path write(Path path, String content) throws Exception {
+        Files.createDirectories(path.getParent());
+        return Files.write(path, content.getBytes());
+    }
+}